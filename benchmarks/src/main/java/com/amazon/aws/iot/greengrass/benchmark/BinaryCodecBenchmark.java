@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.benchmark;
+
+import com.amazon.aws.iot.greengrass.component.common.BinaryCodec;
+import com.amazon.aws.iot.greengrass.component.common.ComponentRecipe;
+import com.amazon.aws.iot.greengrass.component.common.SerializerFactory;
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of {@link BinaryCodec} documents against the JSON mappers. Encoded sizes are printed during setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    private static final ObjectMapper RECIPE_JSON = SerializerFactory.getRecipeSerializerJson();
+    private static final ObjectMapper CONFIGURATION_JSON = SerializerFactory.getConfigurationSerializerJson();
+
+    /**
+     * Synthetic recipes scaled to many manifests and artifacts.
+     */
+    @State(Scope.Benchmark)
+    public static class RecipeState {
+        @Param({"10", "100", "500"})
+        public int manifests;
+
+        byte[] json;
+        byte[] binary;
+
+        @Setup
+        public void setup() throws IOException {
+            json = RECIPE_JSON.writeValueAsBytes(Fixtures.syntheticRecipe(manifests, 5));
+            binary = BinaryCodec.writeRecipe(RECIPE_JSON.readValue(json, ComponentRecipe.class));
+            printSizes("recipe/" + manifests, json, binary);
+        }
+    }
+
+    /**
+     * Deployment configuration fixtures shared with the library tests.
+     */
+    @State(Scope.Benchmark)
+    public static class ConfigurationState {
+        @Param({"configuration-1-redeploy", "configuration-1-component-replace",
+                "configuration-1-with-required-capabilities"})
+        public String fixture;
+
+        byte[] json;
+        byte[] binary;
+
+        @Setup
+        public void setup() throws IOException {
+            json = Fixtures.read("configurations/" + fixture + ".json");
+            binary = BinaryCodec.writeConfiguration(CONFIGURATION_JSON.readValue(json, Configuration.class));
+            printSizes(fixture, json, binary);
+        }
+    }
+
+    @Benchmark
+    public ComponentRecipe decodeRecipeJson(RecipeState state) throws IOException {
+        return RECIPE_JSON.readValue(state.json, ComponentRecipe.class);
+    }
+
+    @Benchmark
+    public ComponentRecipe decodeRecipeBinary(RecipeState state) throws IOException {
+        return BinaryCodec.readRecipe(state.binary);
+    }
+
+    @Benchmark
+    public Configuration decodeConfigurationJson(ConfigurationState state) throws IOException {
+        return CONFIGURATION_JSON.readValue(state.json, Configuration.class);
+    }
+
+    @Benchmark
+    public Configuration decodeConfigurationBinary(ConfigurationState state) throws IOException {
+        return BinaryCodec.readConfiguration(state.binary);
+    }
+
+    private static void printSizes(String name, byte[] json, byte[] binary) {
+        System.out.printf("%n%s: json %d bytes, binary %d bytes (%.0f%%)%n", name, json.length, binary.length,
+                100.0 * binary.length / json.length);
+    }
+}
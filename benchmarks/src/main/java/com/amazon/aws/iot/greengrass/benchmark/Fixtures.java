@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark inputs, either fixtures shared with the library tests or synthetically scaled recipes.
+ */
+final class Fixtures {
+
+    private static final String[] OSES = {"linux", "windows", "darwin"};
+    private static final String[] ARCHES = {"amd64", "aarch64", "arm", "x86"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Read a test fixture from the classpath.
+     *
+     * @param resource resource path, such as recipes/sample-recipe-with-all-fields.yaml
+     * @return file content
+     */
+    static byte[] read(String resource) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing benchmark fixture " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Build a recipe document with the given number of manifests and artifacts per manifest.
+     *
+     * @param manifestCount number of platform manifests
+     * @param artifactCount number of artifacts in each manifest
+     * @return recipe as a generic map, ready to be written as YAML or JSON
+     */
+    static Map<String, Object> syntheticRecipe(int manifestCount, int artifactCount) {
+        Map<String, Object> recipe = new LinkedHashMap<>();
+        recipe.put("RecipeFormatVersion", "2020-01-25");
+        recipe.put("ComponentName", "com.example.Synthetic");
+        recipe.put("ComponentVersion", "1.0.0");
+        recipe.put("ComponentDescription", "Synthetic recipe with " + manifestCount + " manifests");
+        recipe.put("ComponentPublisher", "Benchmark");
+
+        Map<String, Object> dependencies = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> dependency = new LinkedHashMap<>();
+            dependency.put("VersionRequirement", "^" + (i + 1) + ".0.0");
+            dependency.put("DependencyType", i % 2 == 0 ? "HARD" : "SOFT");
+            dependencies.put("com.example.Dependency" + i, dependency);
+        }
+        recipe.put("ComponentDependencies", dependencies);
+
+        Map<String, Object> defaultConfiguration = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("message", "hello " + i);
+            item.put("enabled", i % 2 == 0);
+            item.put("threshold", i * 1.5);
+            defaultConfiguration.put("Item" + i, item);
+        }
+        recipe.put("ComponentConfiguration", Collections.singletonMap("DefaultConfiguration", defaultConfiguration));
+
+        List<Object> manifests = new ArrayList<>(manifestCount);
+        for (int m = 0; m < manifestCount; m++) {
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            Map<String, Object> platform = new LinkedHashMap<>();
+            platform.put("os", OSES[m % OSES.length]);
+            platform.put("architecture", ARCHES[m % ARCHES.length]);
+            platform.put("variant", "v" + m);
+            manifest.put("Platform", platform);
+            manifest.put("Lifecycle", Collections.singletonMap("Run", "python3 -u {artifacts:path}/main" + m + ".py"));
+            List<Object> artifacts = new ArrayList<>(artifactCount);
+            for (int a = 0; a < artifactCount; a++) {
+                Map<String, Object> artifact = new LinkedHashMap<>();
+                artifact.put("URI", "s3://benchmark-bucket/manifest" + m + "/artifact" + a + ".zip");
+                artifact.put("Digest", "d14a028c2a3a2bc9476102bb288234c415a2b01f828ea62ac5b3e42f");
+                artifact.put("Algorithm", "SHA-256");
+                artifact.put("Unarchive", a % 2 == 0 ? "ZIP" : "NONE");
+                artifact.put("Permission", Collections.singletonMap("Execute", "OWNER"));
+                artifacts.add(artifact);
+            }
+            manifest.put("Artifacts", artifacts);
+            manifests.add(manifest);
+        }
+        recipe.put("Manifests", manifests);
+        recipe.put("Lifecycle", Collections.singletonMap("Run", "echo default"));
+        return recipe;
+    }
+}
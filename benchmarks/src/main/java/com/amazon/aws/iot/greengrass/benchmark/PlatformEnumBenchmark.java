@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.benchmark;
+
+import com.amazon.aws.iot.greengrass.component.common.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy enum views of a platform: string to enum lookups, and the cached view on a {@link Platform} instance.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlatformEnumBenchmark {
+
+    @Param({"linux", "darwin", "any", "riscv"})
+    public String os;
+
+    Platform platform;
+
+    @Setup
+    public void setup() {
+        platform = Platform.builder().add(Platform.OS_KEY, os).add(Platform.ARCHITECTURE_KEY, "aarch64").build();
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        blackhole.consume(Platform.OS.getOS(os));
+        blackhole.consume(Platform.Architecture.getArch("aarch64"));
+    }
+
+    @Benchmark
+    public void platformView(Blackhole blackhole) {
+        blackhole.consume(platform.getOs());
+        blackhole.consume(platform.getArchitecture());
+    }
+}
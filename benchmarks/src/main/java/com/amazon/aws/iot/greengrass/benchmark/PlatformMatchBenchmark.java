@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.benchmark;
+
+import com.amazon.aws.iot.greengrass.component.common.CompiledManifestMatcher;
+import com.amazon.aws.iot.greengrass.component.common.Platform;
+import com.amazon.aws.iot.greengrass.component.common.PlatformHelper;
+import com.amazon.aws.iot.greengrass.component.common.PlatformSpecificManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform matching with exact, wildcard and regular expression templates. The target platform only matches the
+ * last manifest, so every manifest is evaluated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlatformMatchBenchmark {
+
+    @Param({"exact", "wildcard", "regex"})
+    public String templates;
+
+    @Param({"10"})
+    public int manifestCount;
+
+    Platform target;
+    List<PlatformSpecificManifest> manifests;
+    CompiledManifestMatcher matcher;
+
+    @Setup
+    public void setup() {
+        target = Platform.builder().os(Platform.OS.LINUX).architecture(Platform.Architecture.AARCH64).build();
+        manifests = new ArrayList<>(manifestCount);
+        for (int i = 0; i < manifestCount - 1; i++) {
+            manifests.add(manifest(template(Platform.OS_KEY, "windows", i),
+                    template(Platform.ARCHITECTURE_KEY, "amd64", i)));
+        }
+        manifests.add(manifest(template(Platform.OS_KEY, "linux", manifestCount),
+                template(Platform.ARCHITECTURE_KEY, "aarch64", manifestCount)));
+        matcher = CompiledManifestMatcher.compile(manifests);
+    }
+
+    private String template(String key, String label, int i) {
+        switch (templates) {
+            case "wildcard":
+                // wildcard os, the architecture decides
+                return Platform.OS_KEY.equals(key) ? Platform.WILDCARD : label;
+            case "regex":
+                return "/" + label + "|other" + i + "/";
+            default:
+                return label;
+        }
+    }
+
+    private static PlatformSpecificManifest manifest(String os, String architecture) {
+        return PlatformSpecificManifest.builder()
+                .platform(Platform.builder().add(Platform.OS_KEY, os).add(Platform.ARCHITECTURE_KEY, architecture)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public Optional<PlatformSpecificManifest> findBestMatch() {
+        return PlatformHelper.findBestMatch(target, manifests);
+    }
+
+    @Benchmark
+    public Optional<PlatformSpecificManifest> findBestMatchUncached() {
+        return PlatformHelper.findBestMatch(target, manifests, null);
+    }
+
+    @Benchmark
+    public Optional<PlatformSpecificManifest> compiledMatcher() {
+        return matcher.findBestMatch(target);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.benchmark;
+
+import com.amazon.aws.iot.greengrass.component.common.ComponentRecipe;
+import com.amazon.aws.iot.greengrass.component.common.SerializerFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialization of {@link ComponentRecipe} through the {@link SerializerFactory} mappers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeDeserializationBenchmark {
+
+    private static final ObjectMapper YAML = SerializerFactory.getRecipeSerializer();
+    private static final ObjectMapper JSON = SerializerFactory.getRecipeSerializerJson();
+
+    /**
+     * Recipe fixtures shared with the library tests.
+     */
+    @State(Scope.Benchmark)
+    public static class FixtureState {
+        @Param({"sample-recipe-with-all-fields", "wrapper-component-recipe"})
+        public String fixture;
+
+        byte[] yaml;
+        byte[] json;
+        ComponentRecipe recipe;
+
+        @Setup
+        public void setup() throws IOException {
+            yaml = Fixtures.read("recipes/" + fixture + ".yaml");
+            json = Fixtures.read("recipes/" + fixture + ".json");
+            recipe = JSON.readValue(json, ComponentRecipe.class);
+        }
+    }
+
+    /**
+     * Synthetic recipes scaled to many manifests and artifacts.
+     */
+    @State(Scope.Benchmark)
+    public static class ScaledState {
+        @Param({"10", "100", "500"})
+        public int manifests;
+
+        @Param({"5"})
+        public int artifacts;
+
+        byte[] yaml;
+        byte[] json;
+        ComponentRecipe recipe;
+
+        @Setup
+        public void setup() throws IOException {
+            Object document = Fixtures.syntheticRecipe(manifests, artifacts);
+            yaml = YAML.writeValueAsBytes(document);
+            json = JSON.writeValueAsBytes(document);
+            recipe = JSON.readValue(json, ComponentRecipe.class);
+        }
+    }
+
+    @Benchmark
+    public ComponentRecipe fixtureYaml(FixtureState state) throws IOException {
+        return YAML.readValue(state.yaml, ComponentRecipe.class);
+    }
+
+    @Benchmark
+    public ComponentRecipe fixtureJson(FixtureState state) throws IOException {
+        return JSON.readValue(state.json, ComponentRecipe.class);
+    }
+
+    @Benchmark
+    public byte[] fixtureSerializeJson(FixtureState state) throws IOException {
+        return JSON.writeValueAsBytes(state.recipe);
+    }
+
+    @Benchmark
+    public ComponentRecipe scaledYaml(ScaledState state) throws IOException {
+        return YAML.readValue(state.yaml, ComponentRecipe.class);
+    }
+
+    @Benchmark
+    public ComponentRecipe scaledJson(ScaledState state) throws IOException {
+        return JSON.readValue(state.json, ComponentRecipe.class);
+    }
+
+    @Benchmark
+    public byte[] scaledSerializeYaml(ScaledState state) throws IOException {
+        return YAML.writeValueAsBytes(state.recipe);
+    }
+
+    @Benchmark
+    public byte[] scaledSerializeJson(ScaledState state) throws IOException {
+        return JSON.writeValueAsBytes(state.recipe);
+    }
+}
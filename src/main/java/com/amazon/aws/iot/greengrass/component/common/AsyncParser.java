@@ -0,0 +1,239 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Parses recipes and deployment configurations on an executor, returning {@link CompletableFuture}s. By default
+ * parsing runs on virtual threads when the runtime has them (Java 21+), and on a shared pool of daemon threads
+ * otherwise.</p>
+ * <p>Parsing uses copies of the {@link SerializerFactory} mappers, with the same configuration. Jackson keeps its
+ * parsing buffers in a thread local, which a short-lived virtual thread never reuses. The copies instead take
+ * their buffers from a pool shared by all parse tasks, so concurrent parsing allocates buffers once per concurrent
+ * task rather than once per document.</p>
+ */
+public final class AsyncParser {
+
+    // idle buffer sets kept for reuse, each holds a few tens of KiB once warmed up
+    private static final int MAX_POOLED_RECYCLERS = 256;
+
+    private static final ConcurrentLinkedQueue<BufferRecycler> RECYCLERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+    private static final ThreadLocal<BufferRecycler> BOUND = new ThreadLocal<>();
+
+    private static final RecipeReader RECIPE_READER = new RecipeReader(
+            SerializerFactory.getRecipeSerializer().copyWith(new PooledYAMLFactory()), RecipeValidator.yaml());
+    private static final ObjectMapper CONFIGURATION_MAPPER =
+            SerializerFactory.getConfigurationSerializerJson().copyWith(new PooledJsonFactory());
+
+    private final Executor executor;
+
+    private AsyncParser(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Parser running on virtual threads when available, or on a shared pool of daemon threads.
+     *
+     * @return parser
+     */
+    public static AsyncParser create() {
+        return new AsyncParser(DefaultExecutor.EXECUTOR);
+    }
+
+    /**
+     * Parser running on the given executor.
+     *
+     * @param executor executor to parse on
+     * @return parser
+     */
+    public static AsyncParser create(@NonNull Executor executor) {
+        return new AsyncParser(executor);
+    }
+
+    /**
+     * Whether {@link #create()} parses on virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean usesVirtualThreads() {
+        return DefaultExecutor.VIRTUAL;
+    }
+
+    /**
+     * Parse a YAML or JSON recipe. The stream is closed once parsed.
+     *
+     * @param in recipe document
+     * @return future recipe, completed exceptionally with the {@link IOException} if the document can't be parsed
+     *         or is not a valid recipe
+     */
+    public CompletableFuture<ComponentRecipe> parseRecipeAsync(@NonNull InputStream in) {
+        return submit(() -> {
+            try (InputStream stream = in) {
+                return RECIPE_READER.read(stream);
+            }
+        });
+    }
+
+    /**
+     * Parse a YAML or JSON recipe.
+     *
+     * @param content recipe document
+     * @return future recipe, completed exceptionally with the {@link IOException} if the document can't be parsed
+     *         or is not a valid recipe
+     */
+    public CompletableFuture<ComponentRecipe> parseRecipeAsync(@NonNull byte[] content) {
+        return submit(() -> RECIPE_READER.read(content));
+    }
+
+    /**
+     * Parse a JSON deployment configuration. The stream is closed once parsed.
+     *
+     * @param in configuration document
+     * @return future configuration, completed exceptionally with the {@link IOException} if the document can't be
+     *         parsed
+     */
+    public CompletableFuture<Configuration> parseConfigurationAsync(@NonNull InputStream in) {
+        return submit(() -> CONFIGURATION_MAPPER.readValue(in, Configuration.class));
+    }
+
+    /**
+     * Parse a JSON deployment configuration.
+     *
+     * @param content configuration document
+     * @return future configuration, completed exceptionally with the {@link IOException} if the document can't be
+     *         parsed
+     */
+    public CompletableFuture<Configuration> parseConfigurationAsync(@NonNull byte[] content) {
+        return submit(() -> CONFIGURATION_MAPPER.readValue(content, Configuration.class));
+    }
+
+    private <T> CompletableFuture<T> submit(Parse<T> parse) {
+        return CompletableFuture.supplyAsync(() -> {
+            BufferRecycler recycler = RECYCLERS.poll();
+            if (recycler == null) {
+                recycler = new BufferRecycler();
+            } else {
+                POOLED.decrementAndGet();
+            }
+            BOUND.set(recycler);
+            try {
+                return parse.parse();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } finally {
+                BOUND.remove();
+                // parsers are closed by now, so the buffers are back in the recycler
+                if (POOLED.incrementAndGet() <= MAX_POOLED_RECYCLERS) {
+                    RECYCLERS.offer(recycler);
+                } else {
+                    POOLED.decrementAndGet();
+                }
+            }
+        }, executor);
+    }
+
+    private static BufferRecycler boundRecycler() {
+        return BOUND.get();
+    }
+
+    @FunctionalInterface
+    private interface Parse<T> {
+        T parse() throws IOException;
+    }
+
+    /**
+     * JSON factory taking buffers from the recycler bound to the current parse task.
+     */
+    private static final class PooledJsonFactory extends JsonFactory {
+        private static final long serialVersionUID = 1L;
+
+        PooledJsonFactory() {
+            super();
+        }
+
+        private PooledJsonFactory(PooledJsonFactory src, ObjectCodec codec) {
+            super(src, codec);
+        }
+
+        @Override
+        public JsonFactory copy() {
+            return new PooledJsonFactory(this, null);
+        }
+
+        @Override
+        public BufferRecycler _getBufferRecycler() {
+            BufferRecycler recycler = boundRecycler();
+            return recycler == null ? super._getBufferRecycler() : recycler;
+        }
+    }
+
+    /**
+     * YAML factory taking buffers from the recycler bound to the current parse task.
+     */
+    private static final class PooledYAMLFactory extends YAMLFactory {
+        private static final long serialVersionUID = 1L;
+
+        PooledYAMLFactory() {
+            super();
+        }
+
+        private PooledYAMLFactory(PooledYAMLFactory src, ObjectCodec codec) {
+            super(src, codec);
+        }
+
+        @Override
+        public YAMLFactory copy() {
+            return new PooledYAMLFactory(this, null);
+        }
+
+        @Override
+        public BufferRecycler _getBufferRecycler() {
+            BufferRecycler recycler = boundRecycler();
+            return recycler == null ? super._getBufferRecycler() : recycler;
+        }
+    }
+
+    /**
+     * Default executor, created on first use.
+     */
+    private static final class DefaultExecutor {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private static final Executor VIRTUAL_EXECUTOR = virtualThreadExecutor();
+        static final boolean VIRTUAL = VIRTUAL_EXECUTOR != null;
+        static final Executor EXECUTOR = VIRTUAL ? VIRTUAL_EXECUTOR : Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "async-parser-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private static Executor virtualThreadExecutor() {
+            try {
+                // Java 21+, looked up reflectively so the library still runs on Java 8
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolves the best manifest for many recipes on many target platforms in one pass. Equal platforms are
+ * de-duplicated, each recipe's manifests are compiled once with {@link CompiledManifestMatcher}, and the work is
+ * spread over a {@link ForkJoinPool}. Results are identical to calling
+ * {@link PlatformHelper#findBestMatch(Map, List)} for every pair.
+ */
+public final class BatchPlatformResolver {
+
+    // number of (recipe, platform) evaluations below which a task is not split further
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private BatchPlatformResolver() {
+    }
+
+    /**
+     * Resolve all recipes against all platforms using the common fork-join pool.
+     *
+     * @param targetPlatforms platforms to test against, duplicates are collapsed into a single column
+     * @param recipes         recipes to resolve, one row each
+     * @return resolution matrix
+     */
+    public static PlatformResolutionMatrix resolve(Collection<? extends Map<String, String>> targetPlatforms,
+                                                   Collection<ComponentRecipe> recipes) {
+        return resolve(targetPlatforms, recipes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolve all recipes against all platforms.
+     *
+     * @param targetPlatforms platforms to test against, duplicates are collapsed into a single column
+     * @param recipes         recipes to resolve, one row each
+     * @param pool            pool to run the resolution on
+     * @return resolution matrix
+     */
+    @SuppressWarnings("unchecked")
+    public static PlatformResolutionMatrix resolve(Collection<? extends Map<String, String>> targetPlatforms,
+                                                   Collection<ComponentRecipe> recipes, ForkJoinPool pool) {
+        Map<Map<String, String>, Integer> platformIndex = new LinkedHashMap<>();
+        List<Map<String, String>> platforms = new ArrayList<>();
+        for (Map<String, String> platform : targetPlatforms) {
+            if (!platformIndex.containsKey(platform)) {
+                platformIndex.put(platform, platforms.size());
+                platforms.add(platform);
+            }
+        }
+
+        List<ComponentRecipe> recipeList = new ArrayList<>(recipes);
+        List<PlatformSpecificManifest>[] manifests = new List[recipeList.size()];
+        for (int i = 0; i < manifests.length; i++) {
+            List<PlatformSpecificManifest> recipeManifests = recipeList.get(i).getManifests();
+            manifests[i] = recipeManifests == null ? Collections.emptyList() : recipeManifests;
+        }
+
+        long cells = (long) recipeList.size() * platforms.size();
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Batch of %d recipes and %d platforms is too large",
+                    recipeList.size(), platforms.size()));
+        }
+        int[] matches = new int[(int) cells];
+        if (matches.length > 0) {
+            pool.invoke(new ResolveTask(manifests, platforms, matches, 0, manifests.length));
+        }
+        return new PlatformResolutionMatrix(recipeList, platforms, platformIndex, manifests, matches);
+    }
+
+    private static final class ResolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<PlatformSpecificManifest>[] manifests;
+        private final transient List<Map<String, String>> platforms;
+        private final int[] matches;
+        private final int from;
+        private final int to;
+
+        ResolveTask(List<PlatformSpecificManifest>[] manifests, List<Map<String, String>> platforms, int[] matches,
+                    int from, int to) {
+            this.manifests = manifests;
+            this.platforms = platforms;
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int platformCount = platforms.size();
+            if (to - from > 1 && (long) (to - from) * platformCount > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ResolveTask(manifests, platforms, matches, from, mid),
+                        new ResolveTask(manifests, platforms, matches, mid, to));
+                return;
+            }
+            for (int r = from; r < to; r++) {
+                CompiledManifestMatcher matcher = CompiledManifestMatcher.compile(manifests[r]);
+                int row = r * platformCount;
+                for (int p = 0; p < platformCount; p++) {
+                    matches[row + p] = matcher.findBestMatchIndex(platforms.get(p));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * <p>Compact binary encoding of recipes and deployment configurations. A document is a short header followed by
+ * the Smile encoding produced by {@link SerializerFactory#getRecipeSerializerSmile()} or
+ * {@link SerializerFactory#getConfigurationSerializerSmile()}.</p>
+ * <p>The header is the magic bytes {@code GGB}, the codec version, a document type byte ({@code R} for recipes,
+ * {@code C} for configurations), then the length-prefixed {@code RecipeFormatVersion} or {@code SchemaDate} of the
+ * document. Readers use it to tell binary documents from JSON or YAML, see {@link #readHeader(byte[])}.</p>
+ */
+public final class BinaryCodec {
+
+    private static final byte[] MAGIC = {'G', 'G', 'B'};
+    private static final byte CODEC_VERSION = 1;
+    private static final int FIXED_HEADER_LENGTH = MAGIC.length + 3;
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Kind of document held in a binary payload.
+     */
+    public enum DocumentType {
+        RECIPE((byte) 'R'),
+        CONFIGURATION((byte) 'C');
+
+        private final byte code;
+
+        DocumentType(byte code) {
+            this.code = code;
+        }
+
+        static DocumentType fromCode(byte code) {
+            for (DocumentType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Decoded binary header.
+     */
+    @Value
+    public static class Header {
+        DocumentType documentType;
+
+        /**
+         * Recipe format version or configuration schema date, as written in documents (for example "2020-01-25").
+         */
+        String schemaVersion;
+
+        /**
+         * Number of bytes taken by the header, the Smile payload starts right after.
+         */
+        int length;
+    }
+
+    /**
+     * Read the header of a binary document.
+     *
+     * @param document document bytes
+     * @return header, or empty if the document is not in this binary format (e.g. JSON or YAML)
+     */
+    public static Optional<Header> readHeader(byte[] document) {
+        if (document.length < FIXED_HEADER_LENGTH) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (document[i] != MAGIC[i]) {
+                return Optional.empty();
+            }
+        }
+        DocumentType type = DocumentType.fromCode(document[MAGIC.length + 1]);
+        int versionLength = document[MAGIC.length + 2] & 0xff;
+        if (document[MAGIC.length] != CODEC_VERSION || type == null
+                || document.length < FIXED_HEADER_LENGTH + versionLength) {
+            return Optional.empty();
+        }
+        String version = new String(document, FIXED_HEADER_LENGTH, versionLength, StandardCharsets.US_ASCII);
+        return Optional.of(new Header(type, version, FIXED_HEADER_LENGTH + versionLength));
+    }
+
+    /**
+     * Encode a recipe.
+     *
+     * @param recipe recipe
+     * @return binary document
+     * @throws IOException if the recipe can't be serialized
+     */
+    public static byte[] writeRecipe(ComponentRecipe recipe) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeRecipe(recipe, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encode a recipe to a stream. The stream is not closed.
+     *
+     * @param recipe recipe
+     * @param out    stream to write to
+     * @throws IOException if the recipe can't be serialized or written
+     */
+    public static void writeRecipe(ComponentRecipe recipe, OutputStream out) throws IOException {
+        write(out, DocumentType.RECIPE, jsonValue(recipe.getRecipeFormatVersion()),
+                SerializerFactory.getRecipeSerializerSmile(), recipe);
+    }
+
+    /**
+     * Encode a deployment configuration.
+     *
+     * @param configuration configuration
+     * @return binary document
+     * @throws IOException if the configuration can't be serialized
+     */
+    public static byte[] writeConfiguration(Configuration configuration) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeConfiguration(configuration, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encode a deployment configuration to a stream. The stream is not closed.
+     *
+     * @param configuration configuration
+     * @param out           stream to write to
+     * @throws IOException if the configuration can't be serialized or written
+     */
+    public static void writeConfiguration(Configuration configuration, OutputStream out) throws IOException {
+        write(out, DocumentType.CONFIGURATION, jsonValue(configuration.getSchemaDate()),
+                SerializerFactory.getConfigurationSerializerSmile(), configuration);
+    }
+
+    /**
+     * Decode a recipe, detecting the format. Binary documents are decoded from Smile, anything else is read as YAML
+     * (which includes JSON).
+     *
+     * @param document recipe document
+     * @return recipe
+     * @throws IOException if the document can't be parsed, or is a binary configuration
+     */
+    public static ComponentRecipe readRecipe(byte[] document) throws IOException {
+        Optional<Header> header = readHeader(document);
+        if (!header.isPresent()) {
+            return SerializerFactory.getRecipeSerializer().readValue(document, ComponentRecipe.class);
+        }
+        return read(document, header.get(), DocumentType.RECIPE, SerializerFactory.getRecipeSerializerSmile(),
+                ComponentRecipe.class);
+    }
+
+    /**
+     * Decode a deployment configuration, detecting the format. Binary documents are decoded from Smile, anything else
+     * is read as JSON.
+     *
+     * @param document configuration document
+     * @return configuration
+     * @throws IOException if the document can't be parsed, or is a binary recipe
+     */
+    public static Configuration readConfiguration(byte[] document) throws IOException {
+        Optional<Header> header = readHeader(document);
+        if (!header.isPresent()) {
+            return SerializerFactory.getConfigurationSerializerJson().readValue(document, Configuration.class);
+        }
+        return read(document, header.get(), DocumentType.CONFIGURATION,
+                SerializerFactory.getConfigurationSerializerSmile(), Configuration.class);
+    }
+
+    private static void write(OutputStream out, DocumentType type, String version, ObjectMapper mapper,
+                              Object value) throws IOException {
+        byte[] versionBytes = version.getBytes(StandardCharsets.US_ASCII);
+        out.write(MAGIC);
+        out.write(CODEC_VERSION);
+        out.write(type.code);
+        out.write(versionBytes.length);
+        out.write(versionBytes);
+        mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, value);
+    }
+
+    private static <T> T read(byte[] document, Header header, DocumentType expected, ObjectMapper mapper,
+                              Class<T> type) throws IOException {
+        if (header.getDocumentType() != expected) {
+            throw new IOException(String.format("Expected a binary %s document but found %s", expected,
+                    header.getDocumentType()));
+        }
+        return mapper.readValue(document, header.getLength(), document.length - header.getLength(), type);
+    }
+
+    private static String jsonValue(Enum<?> value) {
+        try {
+            JsonProperty property = value.getDeclaringClass().getField(value.name()).getAnnotation(JsonProperty.class);
+            return property == null ? value.name() : property.value();
+        } catch (NoSuchFieldException e) {
+            // every enum constant is a public field
+            throw new IllegalStateException(e);
+        }
+    }
+}
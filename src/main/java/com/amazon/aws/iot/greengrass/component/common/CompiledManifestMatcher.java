@@ -0,0 +1,204 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * <p>Pre-compiled form of a manifest list for repeated platform matching. Each platform template is classified once
+ * (wildcard, legacy "all"/"any", exact, regular expression or rejected) so that matching a target platform is a
+ * plain loop over arrays, without streams, substrings or regular expression compilation.</p>
+ * <p>Matching semantics are identical to {@link PlatformHelper#findBestMatch(Map, List)}. Instances are immutable
+ * and may be shared between threads.</p>
+ */
+public final class CompiledManifestMatcher {
+
+    static final byte KIND_WILDCARD = 0;
+    static final byte KIND_LEGACY_WILDCARD = 1;
+    static final byte KIND_EXACT = 2;
+    static final byte KIND_REGEX = 3;
+    static final byte KIND_REJECTED = 4;
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final byte[] NO_KINDS = new byte[0];
+    private static final Object[] NO_TEMPLATES = new Object[0];
+
+    private final PlatformSpecificManifest[] manifests;
+    // per manifest, the requirement attribute names, template kinds and compiled templates (String or Pattern)
+    private final String[][] names;
+    private final byte[][] kinds;
+    private final Object[][] templates;
+
+    private CompiledManifestMatcher(List<PlatformSpecificManifest> manifestList, PlatformPatternCache patternCache) {
+        int size = manifestList.size();
+        this.manifests = manifestList.toArray(new PlatformSpecificManifest[size]);
+        this.names = new String[size][];
+        this.kinds = new byte[size][];
+        this.templates = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            compileManifest(i, patternCache);
+        }
+    }
+
+    /**
+     * Compile a list of recipe manifests for repeated matching.
+     *
+     * @param manifestList A list of recipe manifests, in order of preference.
+     * @return compiled matcher
+     */
+    public static CompiledManifestMatcher compile(List<PlatformSpecificManifest> manifestList) {
+        return compile(manifestList, PlatformPatternCache.getDefault());
+    }
+
+    /**
+     * Compile a list of recipe manifests for repeated matching, sharing compiled templates through a cache.
+     *
+     * @param manifestList A list of recipe manifests, in order of preference.
+     * @param patternCache Cache of compiled templates, or null to compile each template privately.
+     * @return compiled matcher
+     */
+    public static CompiledManifestMatcher compile(List<PlatformSpecificManifest> manifestList,
+                                                  PlatformPatternCache patternCache) {
+        return new CompiledManifestMatcher(manifestList, patternCache);
+    }
+
+    /**
+     * find best match for the given platform.
+     *
+     * @param targetPlatform Platform attributes to test against (usually the actual platform of the device).
+     * @return first matching manifest.
+     */
+    public Optional<PlatformSpecificManifest> findBestMatch(Map<String, String> targetPlatform) {
+        int index = findBestMatchIndex(targetPlatform);
+        return index < 0 ? Optional.empty() : Optional.of(manifests[index]);
+    }
+
+    /**
+     * find index of the best match for the given platform.
+     *
+     * @param targetPlatform Platform attributes to test against (usually the actual platform of the device).
+     * @return index of first matching manifest in the compiled list, or -1 if none matches.
+     */
+    public int findBestMatchIndex(Map<String, String> targetPlatform) {
+        // Manifests are listed in order of preference, so the first match is the relevant match
+        for (int i = 0; i < manifests.length; i++) {
+            if (isRequirementSatisfied(targetPlatform, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of manifests compiled into this matcher.
+     *
+     * @return manifest count
+     */
+    public int size() {
+        return manifests.length;
+    }
+
+    private boolean isRequirementSatisfied(Map<String, String> targetPlatform, int manifestIndex) {
+        String[] manifestNames = names[manifestIndex];
+        byte[] manifestKinds = kinds[manifestIndex];
+        Object[] manifestTemplates = templates[manifestIndex];
+        for (int j = 0; j < manifestNames.length; j++) {
+            if (!isAttributeSatisfied(targetPlatform.get(manifestNames[j]), manifestKinds[j], manifestTemplates[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAttributeSatisfied(String label, byte kind, Object template) {
+        if (kind == KIND_WILDCARD) {
+            return true;
+        }
+        if (label == null || label.length() == 0) {
+            // label must not be null / missing / blank for any non-wildcard template
+            return false;
+        }
+        switch (kind) {
+            case KIND_REGEX:
+                if (template instanceof Pattern) {
+                    return ((Pattern) template).matcher(label).matches();
+                }
+                // invalid expression, surface the same error as an uncompiled match would
+                return label.matches((String) template);
+            case KIND_LEGACY_WILDCARD:
+                return true;
+            case KIND_EXACT:
+                return template.equals(label);
+            default:
+                return false;
+        }
+    }
+
+    private void compileManifest(int index, PlatformPatternCache patternCache) {
+        Map<String, String> platformRequirement = manifests[index].getPlatform();
+        if (platformRequirement == null || platformRequirement.isEmpty()) {
+            // no platform is considered a wild-card
+            names[index] = NO_NAMES;
+            kinds[index] = NO_KINDS;
+            templates[index] = NO_TEMPLATES;
+            return;
+        }
+        int size = platformRequirement.size();
+        String[] manifestNames = new String[size];
+        byte[] manifestKinds = new byte[size];
+        Object[] manifestTemplates = new Object[size];
+        int j = 0;
+        for (Map.Entry<String, String> e : platformRequirement.entrySet()) {
+            String template = e.getValue();
+            byte kind = classify(e.getKey(), template);
+            manifestNames[j] = e.getKey();
+            manifestKinds[j] = kind;
+            manifestTemplates[j] = kind == KIND_REGEX ? compileRegex(template, patternCache) : template;
+            j++;
+        }
+        names[index] = manifestNames;
+        kinds[index] = manifestKinds;
+        templates[index] = manifestTemplates;
+    }
+
+    /**
+     * Classify a single template, mirroring the order of checks in {@link PlatformHelper}.
+     *
+     * @param name     Attribute name (some names may change match behavior)
+     * @param template Template (a string)
+     * @return template kind
+     */
+    static byte classify(String name, String template) {
+        if (template == null || template.equals(Platform.WILDCARD)) {
+            return KIND_WILDCARD;
+        }
+        if (PlatformHelper.isRegexTemplate(template)) {
+            return KIND_REGEX;
+        }
+        if ((Platform.OS_KEY.equals(name) || Platform.ARCHITECTURE_KEY.equals(name))
+                && ("all".equals(template) || "any".equals(template))) {
+            return KIND_LEGACY_WILDCARD;
+        }
+        if (!PlatformHelper.isSimpleLabel(template)) {
+            return KIND_REJECTED;
+        }
+        return KIND_EXACT;
+    }
+
+    private static Object compileRegex(String template, PlatformPatternCache patternCache) {
+        String expression = template.substring(1, template.length() - 1);
+        try {
+            return patternCache == null ? Pattern.compile(expression) : patternCache.getPattern(template);
+        } catch (PatternSyntaxException e) {
+            // keep the raw expression, the error is raised when (and only if) a match is attempted
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.vdurmont.semver4j.Requirement;
+import com.vdurmont.semver4j.Semver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Pre-compiled form of an NPM style version requirement. The requirement is normalized into one version interval
+ * per alternative (separated by {@code ||}). Tilde, caret, hyphen and wildcard forms are expanded the same way
+ * {@link Requirement#buildNPM(String)} does, and the comparators of an alternative are reduced to their tightest
+ * lower and upper bound, so a candidate version is checked with integer comparisons on major, minor and patch.</p>
+ * <p>Prerelease versions follow semver4j NPM rules: an alternative of more than one comparator only accepts a
+ * prerelease version if one of its comparators has a prerelease on the same major, minor and patch.</p>
+ * <p>The requirement string is kept as written and is what {@link #toString()} returns and what Jackson
+ * writes.</p>
+ * <p>Requirements using syntax which is not compiled (parentheses, or operators on partial versions) are evaluated
+ * by {@link Requirement#isSatisfiedBy(Semver)}, see {@link #isCompiled()}. Instances are immutable and may be shared
+ * between threads.</p>
+ */
+public final class CompiledRequirement {
+
+    private final String source;
+    private final Requirement requirement;
+    // null if not compiled
+    private final Interval[] intervals;
+
+    private CompiledRequirement(String source, Requirement requirement, Interval[] intervals) {
+        this.source = source;
+        this.requirement = requirement;
+        this.intervals = intervals;
+    }
+
+    /**
+     * Compile an NPM style requirement.
+     *
+     * @param requirement requirement, as accepted by {@link Requirement#buildNPM(String)}
+     * @return compiled requirement
+     */
+    public static CompiledRequirement compile(String requirement) {
+        return new CompiledRequirement(requirement, Requirement.buildNPM(requirement), parse(requirement));
+    }
+
+    /**
+     * Compile a requirement from its normalized string form.
+     *
+     * @param requirement requirement built by {@link Requirement#buildNPM(String)}
+     * @return compiled requirement
+     */
+    public static CompiledRequirement compile(Requirement requirement) {
+        String source = requirement.toString();
+        return new CompiledRequirement(source, requirement, parse(source));
+    }
+
+    public Requirement getRequirement() {
+        return requirement;
+    }
+
+    /**
+     * Whether the requirement was compiled, false if it is evaluated by semver4j.
+     *
+     * @return true if compiled
+     */
+    public boolean isCompiled() {
+        return intervals != null;
+    }
+
+    /**
+     * Check whether a version satisfies the requirement.
+     *
+     * @param version candidate version
+     * @return true if satisfied
+     */
+    public boolean isSatisfiedBy(Semver version) {
+        if (intervals == null || version.getMinor() == null || version.getPatch() == null) {
+            return requirement.isSatisfiedBy(version);
+        }
+        return isSatisfiedBy(version, version.getMajor(), version.getMinor(), version.getPatch(),
+                version.getSuffixTokens().length > 0);
+    }
+
+    boolean isSatisfiedBy(Semver version, int major, int minor, int patch, boolean prerelease) {
+        for (Interval interval : intervals) {
+            if (interval.isSatisfiedBy(version, major, minor, patch, prerelease)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Interval[] getIntervals() {
+        return intervals;
+    }
+
+    /**
+     * The requirement as written.
+     *
+     * @return requirement string
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private static Interval[] parse(String requirement) {
+        String source = requirement.trim();
+        if (source.isEmpty()) {
+            source = "*";
+        }
+        if (source.indexOf('(') >= 0 || source.indexOf(')') >= 0) {
+            return null;
+        }
+        String[] parts = source.split("\\|\\|", -1);
+        Interval[] result = new Interval[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = parseInterval(parts[i].trim());
+            if (result[i] == null) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static Interval parseInterval(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+        List<String> tokens = new ArrayList<>();
+        String operator = null;
+        for (String token : source.split("\\s+")) {
+            // an operator separated from its version by whitespace
+            if (token.matches("[<>]=?|=|~|\\^")) {
+                if (operator != null) {
+                    return null;
+                }
+                operator = token;
+            } else {
+                tokens.add(operator == null ? token : operator + token);
+                operator = null;
+            }
+        }
+        if (operator != null) {
+            return null;
+        }
+        List<Comparator> comparators = new ArrayList<>();
+        if (tokens.size() == 3 && "-".equals(tokens.get(1))) {
+            if (!addHyphen(tokens.get(0), tokens.get(2), comparators)) {
+                return null;
+            }
+        } else {
+            for (String token : tokens) {
+                if (!addSimple(token, comparators)) {
+                    return null;
+                }
+            }
+        }
+        return new Interval(comparators);
+    }
+
+    private static boolean addSimple(String token, List<Comparator> comparators) {
+        if ("*".equals(token) || "latest".equals(token)) {
+            comparators.add(new Comparator(Operator.GTE, 0, 0, 0, ""));
+            return true;
+        }
+        Operator operator;
+        int start;
+        if (token.startsWith(">=")) {
+            operator = Operator.GTE;
+            start = 2;
+        } else if (token.startsWith("<=")) {
+            operator = Operator.LTE;
+            start = 2;
+        } else if (token.startsWith(">")) {
+            operator = Operator.GT;
+            start = 1;
+        } else if (token.startsWith("<")) {
+            operator = Operator.LT;
+            start = 1;
+        } else if (token.startsWith("=")) {
+            operator = Operator.EQ;
+            start = 1;
+        } else if (token.startsWith("~") || token.startsWith("^")) {
+            operator = null;
+            start = 1;
+        } else {
+            operator = Operator.EQ;
+            start = 0;
+        }
+        Partial version = Partial.parse(token.substring(start));
+        if (version == null) {
+            return false;
+        }
+        if (start == 1 && token.charAt(0) == '^') {
+            comparators.add(version.lower());
+            comparators.add(caretUpper(version));
+            return true;
+        }
+        if (start == 1 && token.charAt(0) == '~' || start == 0 && !version.isFull()) {
+            // a bare partial version such as 1.2 or 1.2.x is a tilde requirement
+            comparators.add(version.lower());
+            comparators.add(version.minor < 0 ? new Comparator(Operator.LT, version.major + 1, 0, 0, "")
+                    : new Comparator(Operator.LT, version.major, version.minor + 1, 0, ""));
+            return true;
+        }
+        if (!version.isFull()) {
+            // semver4j compares against partial versions in a way that doesn't map to intervals
+            return false;
+        }
+        comparators.add(new Comparator(operator, version.major, version.minor, version.patch, version.suffix));
+        return true;
+    }
+
+    private static Comparator caretUpper(Partial version) {
+        if (version.major != 0) {
+            return new Comparator(Operator.LT, version.major + 1, 0, 0, "");
+        }
+        if (version.minor < 0) {
+            return new Comparator(Operator.LT, 1, 0, 0, "");
+        }
+        if (version.minor != 0) {
+            return new Comparator(Operator.LT, 0, version.minor + 1, 0, "");
+        }
+        if (version.patch < 0) {
+            return new Comparator(Operator.LT, 0, 1, 0, "");
+        }
+        return new Comparator(Operator.LT, 0, 0, version.patch + 1, "");
+    }
+
+    private static boolean addHyphen(String lowerToken, String upperToken, List<Comparator> comparators) {
+        Partial lower = Partial.parse(lowerToken);
+        Partial upper = Partial.parse(upperToken);
+        if (lower == null || upper == null) {
+            return false;
+        }
+        comparators.add(lower.lower());
+        if (upper.minor < 0) {
+            comparators.add(new Comparator(Operator.LT, upper.major + 1, 0, 0, ""));
+        } else if (upper.patch < 0) {
+            comparators.add(new Comparator(Operator.LT, upper.major, upper.minor + 1, 0, ""));
+        } else {
+            comparators.add(new Comparator(Operator.LTE, upper.major, upper.minor, upper.patch, upper.suffix));
+        }
+        return true;
+    }
+
+    /**
+     * Interval between an optional lower and an optional upper bound, the intersection of the comparators of one
+     * alternative. If the alternative had more than one comparator, only prerelease versions sharing major, minor
+     * and patch with a prerelease comparator are accepted.
+     */
+    static final class Interval {
+        private final Comparator lower;
+        private final Comparator upper;
+        private final boolean restrictsPrereleases;
+        // major, minor and patch of the prerelease comparators
+        private final int[] prereleaseVersions;
+
+        private Interval(List<Comparator> comparators) {
+            Comparator low = null;
+            Comparator high = null;
+            int[] prereleases = new int[0];
+            for (Comparator comparator : comparators) {
+                if (comparator.prerelease) {
+                    prereleases = Arrays.copyOf(prereleases, prereleases.length + 3);
+                    prereleases[prereleases.length - 3] = comparator.major;
+                    prereleases[prereleases.length - 2] = comparator.minor;
+                    prereleases[prereleases.length - 1] = comparator.patch;
+                }
+                if (comparator.operator == Operator.EQ) {
+                    low = tighter(low, comparator.withOperator(Operator.GTE), true);
+                    high = tighter(high, comparator.withOperator(Operator.LTE), false);
+                } else if (comparator.operator == Operator.GT || comparator.operator == Operator.GTE) {
+                    low = tighter(low, comparator, true);
+                } else {
+                    high = tighter(high, comparator, false);
+                }
+            }
+            this.lower = low;
+            this.upper = high;
+            this.restrictsPrereleases = comparators.size() > 1;
+            this.prereleaseVersions = prereleases;
+        }
+
+        private static Comparator tighter(Comparator current, Comparator candidate, boolean lower) {
+            if (current == null) {
+                return candidate;
+            }
+            int c = candidate.version.compareTo(current.version);
+            if (c == 0) {
+                // exclusive bounds are tighter than inclusive ones on the same version
+                return candidate.operator == Operator.GT || candidate.operator == Operator.LT ? candidate : current;
+            }
+            return lower == c > 0 ? candidate : current;
+        }
+
+        Comparator getLower() {
+            return lower;
+        }
+
+        Comparator getUpper() {
+            return upper;
+        }
+
+        boolean isSatisfiedBy(Semver version, int major, int minor, int patch, boolean prerelease) {
+            if (lower != null && !lower.isSatisfiedBy(version, major, minor, patch, prerelease)
+                    || upper != null && !upper.isSatisfiedBy(version, major, minor, patch, prerelease)) {
+                return false;
+            }
+            if (!prerelease || !restrictsPrereleases) {
+                return true;
+            }
+            for (int i = 0; i < prereleaseVersions.length; i += 3) {
+                if (prereleaseVersions[i] == major && prereleaseVersions[i + 1] == minor
+                        && prereleaseVersions[i + 2] == patch) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    enum Operator {
+        EQ, LT, LTE, GT, GTE
+    }
+
+    /**
+     * Single comparison against a full version.
+     */
+    static final class Comparator {
+        final Operator operator;
+        final int major;
+        final int minor;
+        final int patch;
+        final boolean prerelease;
+        final Semver version;
+
+        private Comparator(Operator operator, int major, int minor, int patch, String suffix) {
+            this(operator, major, minor, patch, new Semver(major + "." + minor + "." + patch
+                    + (suffix.isEmpty() ? "" : "-" + suffix), Semver.SemverType.NPM));
+        }
+
+        private Comparator(Operator operator, int major, int minor, int patch, Semver version) {
+            this.operator = operator;
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.prerelease = version.getSuffixTokens().length > 0;
+            this.version = version;
+        }
+
+        /**
+         * Compare a version to the comparator version, in the order of {@link Semver#compareTo(Semver)}.
+         */
+        int compare(Semver other, int otherMajor, int otherMinor, int otherPatch, boolean otherPrerelease) {
+            int c = Integer.compare(otherMajor, major);
+            if (c == 0) {
+                c = Integer.compare(otherMinor, minor);
+            }
+            if (c == 0) {
+                c = Integer.compare(otherPatch, patch);
+            }
+            if (c == 0 && (prerelease || otherPrerelease)) {
+                c = other.compareTo(version);
+            }
+            return c;
+        }
+
+        Comparator withOperator(Operator newOperator) {
+            return new Comparator(newOperator, major, minor, patch, version);
+        }
+
+        boolean isSatisfiedBy(Semver other, int otherMajor, int otherMinor, int otherPatch, boolean otherPrerelease) {
+            if (otherMajor == major && otherMinor == minor && otherPatch == patch
+                    && (prerelease || otherPrerelease)) {
+                // prereleases of the same version, compare exactly as semver4j ranges do
+                switch (operator) {
+                    case EQ:
+                        return other.isEquivalentTo(version);
+                    case LT:
+                        return other.isLowerThan(version);
+                    case LTE:
+                        return other.isLowerThan(version) || other.isEquivalentTo(version);
+                    case GT:
+                        return other.isGreaterThan(version);
+                    default:
+                        return other.isGreaterThan(version) || other.isEquivalentTo(version);
+                }
+            }
+            int c = compare(other, otherMajor, otherMinor, otherPatch, false);
+            switch (operator) {
+                case EQ:
+                    return c == 0;
+                case LT:
+                    return c < 0;
+                case LTE:
+                    return c <= 0;
+                case GT:
+                    return c > 0;
+                default:
+                    return c >= 0;
+            }
+        }
+    }
+
+    /**
+     * Version with optional minor and patch, -1 if missing or a wildcard.
+     */
+    private static final class Partial {
+        private final int major;
+        private final int minor;
+        private final int patch;
+        private final String suffix;
+
+        private Partial(int major, int minor, int patch, String suffix) {
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.suffix = suffix;
+        }
+
+        static Partial parse(String value) {
+            String suffix = "";
+            String core = value;
+            int build = core.indexOf('+');
+            if (build >= 0) {
+                core = core.substring(0, build);
+            }
+            int dash = core.indexOf('-');
+            if (dash >= 0) {
+                suffix = core.substring(dash + 1);
+                core = core.substring(0, dash);
+                if (suffix.isEmpty()) {
+                    return null;
+                }
+            }
+            String[] parts = core.split("\\.", -1);
+            if (parts.length > 3) {
+                return null;
+            }
+            int[] numbers = {-1, -1, -1};
+            boolean wildcard = false;
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                if ("x".equals(part) || "X".equals(part) || "*".equals(part)) {
+                    wildcard = true;
+                } else if (wildcard || part.isEmpty() || part.length() > 9 || !isDigits(part)) {
+                    return null;
+                } else {
+                    numbers[i] = Integer.parseInt(part);
+                }
+            }
+            if (numbers[0] < 0 || !suffix.isEmpty() && numbers[2] < 0) {
+                return null;
+            }
+            return new Partial(numbers[0], numbers[1], numbers[2], suffix);
+        }
+
+        private static boolean isDigits(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFull() {
+            return patch >= 0;
+        }
+
+        Comparator lower() {
+            return new Comparator(Operator.GTE, major, Math.max(minor, 0), Math.max(patch, 0), suffix);
+        }
+    }
+}
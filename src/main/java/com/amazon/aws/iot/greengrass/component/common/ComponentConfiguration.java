@@ -5,23 +5,201 @@
 
 package com.amazon.aws.iot.greengrass.component.common;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Component configuration. Instances created through {@link #lazy(byte[])}, or read by {@link RecipeReader}, keep
+ * the default configuration as compact JSON and only parse it into a {@link JsonNode} on first call to
+ * {@link #getDefaultConfiguration()}. Equality, hashing and serialization work on the JSON directly until then.
+ * Only the structural hash of the JSON (see {@link JsonStructuralHash}) is kept, a parsed tree can be changed in place
+ * and is hashed on every call.
+ */
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 @JsonDeserialize(builder = ComponentConfiguration.ComponentConfigurationBuilder.class)
+@JsonSerialize(using = ComponentConfigurationSerializer.class)
 public class ComponentConfiguration {
 
+    private static final ObjectMapper JSON = new ObjectMapper();
+
     JsonNode defaultConfiguration;
 
+    // compact JSON of the default configuration, until it is parsed. Always null once materialized.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile byte[] rawDefaultConfiguration;
+
+    // structural hash of rawDefaultConfiguration, 0 if not yet computed. Unused once materialized.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int rawHash;
+
+    @Builder
+    public ComponentConfiguration(JsonNode defaultConfiguration) {
+        this.defaultConfiguration = defaultConfiguration;
+    }
+
+    /**
+     * Create a configuration whose default configuration is parsed on first access.
+     *
+     * @param defaultConfigurationJson default configuration as JSON, not copied. Malformed content is only reported
+     *                                 when parsed.
+     * @return lazy configuration
+     */
+    public static ComponentConfiguration lazy(byte[] defaultConfigurationJson) {
+        Objects.requireNonNull(defaultConfigurationJson, "defaultConfigurationJson");
+        ComponentConfiguration configuration = new ComponentConfiguration();
+        configuration.rawDefaultConfiguration = defaultConfigurationJson;
+        return configuration;
+    }
+
+    /**
+     * Create a lazy configuration from the default configuration value at the current token of a parser.
+     *
+     * @param parser parser positioned on the first token of the value, in any format
+     * @return lazy configuration
+     * @throws IOException on parse error
+     */
+    static ComponentConfiguration lazy(JsonParser parser) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON.getFactory().createGenerator(out)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return lazy(out.toByteArray());
+    }
+
+    boolean isMaterialized() {
+        return rawDefaultConfiguration == null;
+    }
+
+    /**
+     * Get the default configuration, parsing it first if this configuration is lazy.
+     *
+     * @return default configuration
+     */
+    public JsonNode getDefaultConfiguration() {
+        if (rawDefaultConfiguration != null) {
+            synchronized (this) {
+                byte[] raw = rawDefaultConfiguration;
+                if (raw != null) {
+                    defaultConfiguration = parse(raw);
+                    rawDefaultConfiguration = null;
+                }
+            }
+        }
+        return defaultConfiguration;
+    }
+
+    public synchronized void setDefaultConfiguration(JsonNode defaultConfiguration) {
+        this.defaultConfiguration = defaultConfiguration;
+        this.rawDefaultConfiguration = null;
+    }
+
+    /**
+     * Write the default configuration without parsing it into a tree.
+     */
+    void writeDefaultConfiguration(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        byte[] raw = rawDefaultConfiguration;
+        if (raw == null) {
+            provider.defaultSerializeValue(defaultConfiguration, generator);
+            return;
+        }
+        try (JsonParser parser = JSON.getFactory().createParser(raw)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    boolean hasDefaultConfiguration() {
+        return rawDefaultConfiguration != null || defaultConfiguration != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ComponentConfiguration)) {
+            return false;
+        }
+        ComponentConfiguration other = (ComponentConfiguration) o;
+        if (!other.canEqual(this)) {
+            return false;
+        }
+        byte[] raw = rawDefaultConfiguration;
+        byte[] otherRaw = other.rawDefaultConfiguration;
+        if (raw != null && otherRaw != null) {
+            if (Arrays.equals(raw, otherRaw)) {
+                return true;
+            }
+            if (rawHash(raw) != other.rawHash(otherRaw)) {
+                return false;
+            }
+        }
+        // compare trees, lazy sides are parsed without being materialized
+        return Objects.equals(raw == null ? defaultConfiguration : parse(raw),
+                otherRaw == null ? other.defaultConfiguration : parse(otherRaw));
+    }
+
+    protected boolean canEqual(Object other) {
+        return other instanceof ComponentConfiguration;
+    }
+
+    @Override
+    public int hashCode() {
+        byte[] raw = rawDefaultConfiguration;
+        return 59 + (raw == null ? JsonStructuralHash.hash(defaultConfiguration) : rawHash(raw));
+    }
+
+    @Override
+    public String toString() {
+        byte[] raw = rawDefaultConfiguration;
+        return "ComponentConfiguration(defaultConfiguration="
+                + (raw == null ? defaultConfiguration : new String(raw, StandardCharsets.UTF_8)) + ")";
+    }
+
+    private int rawHash(byte[] raw) {
+        int hash = rawHash;
+        if (hash == 0) {
+            try (JsonParser parser = JSON.getFactory().createParser(raw)) {
+                parser.nextToken();
+                hash = JsonStructuralHash.hash(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rawHash = hash;
+        }
+        return hash;
+    }
+
+    private static JsonNode parse(byte[] raw) {
+        try {
+            return JSON.readTree(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @JsonPOJOBuilder(withPrefix = "")
     public static class ComponentConfigurationBuilder {
     }
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ComponentConfiguration} the same way bean serialization would, but copies a lazy default
+ * configuration straight from its JSON instead of parsing it into a tree.
+ */
+public class ComponentConfigurationSerializer extends StdSerializer<ComponentConfiguration> {
+    private static final String DEFAULT_CONFIGURATION = "defaultConfiguration";
+
+    public ComponentConfigurationSerializer() {
+        super(ComponentConfiguration.class);
+    }
+
+    @Override
+    public void serialize(final ComponentConfiguration value, final JsonGenerator gen,
+                          final SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        if (value.hasDefaultConfiguration() || includeNull(provider.getConfig())) {
+            gen.writeFieldName(propertyName(provider.getConfig()));
+            value.writeDefaultConfiguration(gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    private static String propertyName(SerializationConfig config) {
+        PropertyNamingStrategy strategy = config.getPropertyNamingStrategy();
+        if (strategy == null) {
+            return DEFAULT_CONFIGURATION;
+        }
+        return strategy.nameForGetterMethod(config, null, DEFAULT_CONFIGURATION);
+    }
+
+    private static boolean includeNull(SerializationConfig config) {
+        JsonInclude.Include inclusion =
+                config.getDefaultPropertyInclusion(ComponentConfiguration.class).getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.amazon.aws.iot.greengrass.component.common;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -12,9 +13,13 @@ import com.vdurmont.semver4j.Semver;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 import java.util.Collections;
 import java.util.List;
@@ -22,7 +27,6 @@ import java.util.Objects;
 
 @JsonDeserialize(builder = ComponentRecipe.ComponentRecipeBuilder.class)
 @Value
-@Builder
 public class ComponentRecipe {
     public static final Pattern COMPONENT_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9-_.]+$");
     private static final int COMPONENT_NAME_LENGTH = 128;
@@ -39,8 +43,7 @@ public class ComponentRecipe {
     @JsonSerialize(using = SemverSerializer.class)
     Semver componentVersion;
 
-    @Builder.Default
-    ComponentType componentType = ComponentType.GENERIC;
+    ComponentType componentType;
 
     String componentDescription;
 
@@ -54,11 +57,54 @@ public class ComponentRecipe {
 
     List<PlatformSpecificManifest> manifests;
 
-    @Builder.Default
-    Map<String, Object> lifecycle = Collections.emptyMap();
+    Map<String, Object> lifecycle;
+
+    // typed view of lifecycle, parsed on first use
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile Lifecycle lifecycleView;
+
+    @Builder
+    ComponentRecipe(@NonNull RecipeFormatVersion recipeFormatVersion, @NonNull String componentName,
+                    @NonNull Semver componentVersion, ComponentType componentType,
+                    String componentDescription, String componentPublisher, String componentSource,
+                    ComponentConfiguration componentConfiguration,
+                    Map<String, DependencyProperties> componentDependencies,
+                    List<PlatformSpecificManifest> manifests, Map<String, Object> lifecycle) {
+        this.recipeFormatVersion = recipeFormatVersion;
+        this.componentName = componentName;
+        this.componentVersion = componentVersion;
+        this.componentType = componentType;
+        this.componentDescription = componentDescription;
+        this.componentPublisher = componentPublisher;
+        this.componentSource = componentSource;
+        this.componentConfiguration = componentConfiguration;
+        this.componentDependencies = componentDependencies;
+        this.manifests = manifests;
+        this.lifecycle = lifecycle;
+    }
+
+    /**
+     * Typed view of the lifecycle section, parsed on first use and kept. Changes made inside the lifecycle map
+     * after it was parsed are not reflected.
+     *
+     * @return lifecycle view, empty if the recipe has no lifecycle
+     */
+    @JsonIgnore
+    public Lifecycle getLifecycleView() {
+        Lifecycle view = lifecycleView;
+        if (view == null) {
+            view = Lifecycle.of(lifecycle);
+            lifecycleView = view;
+        }
+        return view;
+    }
 
     @JsonPOJOBuilder(withPrefix = "")
     public static class ComponentRecipeBuilder {
+        private ComponentType componentType = ComponentType.GENERIC;
+        private Map<String, Object> lifecycle = Collections.emptyMap();
         private List<PlatformSpecificManifest> manifests = Collections.emptyList(); // default to empty list
 
         public ComponentRecipeBuilder manifests(List<PlatformSpecificManifest> manifests) {
@@ -6,9 +6,10 @@
 package com.amazon.aws.iot.greengrass.component.common;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
-import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.vdurmont.semver4j.Requirement;
 import lombok.Builder;
 import lombok.NonNull;
@@ -17,18 +18,34 @@ import lombok.Value;
 @JsonDeserialize(builder = DependencyProperties.DependencyPropertiesBuilder.class)
 @Value
 public class DependencyProperties {
-    @JsonSerialize(using = RequirementSerializer.class)
+    // compiled once, serialized as the requirement string as written
+    @JsonProperty
     @NonNull
-    Requirement versionRequirement;
+    CompiledRequirement versionRequirement;
 
     DependencyType dependencyType;
 
     @Builder
     public DependencyProperties(@NonNull String versionRequirement, DependencyType dependencyType) {
-        this.versionRequirement = Requirement.buildNPM(versionRequirement);
+        this.versionRequirement = CompiledRequirement.compile(versionRequirement);
         this.dependencyType = dependencyType == null ? DependencyType.HARD : dependencyType;
     }
 
+    @JsonIgnore
+    public Requirement getVersionRequirement() {
+        return versionRequirement.getRequirement();
+    }
+
+    /**
+     * Version requirement compiled to version intervals.
+     *
+     * @return compiled requirement
+     */
+    @JsonIgnore
+    public CompiledRequirement getCompiledVersionRequirement() {
+        return versionRequirement;
+    }
+
     @JsonPOJOBuilder(withPrefix = "")
     public static class DependencyPropertiesBuilder {
     }
@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Requirement;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of {@link DependencyResolver#resolve(Map)}.
+ */
+@Value
+public class DependencyResolution {
+
+    /**
+     * Selected recipe per component, dependencies before their dependents.
+     */
+    Map<String, ComponentRecipe> components;
+
+    /**
+     * Components for which no version satisfies the HARD requirements on them.
+     */
+    List<UnsatisfiedDependency> unsatisfiedDependencies;
+
+    /**
+     * SOFT requirements the selected versions do not meet, or on components with no version available. They do not
+     * fail the resolution.
+     */
+    List<DependencyEdge> unsatisfiedSoftDependencies;
+
+    /**
+     * Dependency cycles between selected components, each listed once in dependency order.
+     */
+    List<List<String>> cycles;
+
+    /**
+     * False if selections kept changing and resolution gave up.
+     */
+    boolean converged;
+
+    /**
+     * Whether every HARD requirement is met by an acyclic set of components.
+     *
+     * @return true on success
+     */
+    public boolean isResolved() {
+        return converged && unsatisfiedDependencies.isEmpty() && cycles.isEmpty();
+    }
+
+    /**
+     * Requirement of a dependent component (or of the resolution roots) on another component.
+     */
+    @Value
+    public static class DependencyEdge {
+        /**
+         * Name of the requiring component, null for a root requirement.
+         */
+        String dependent;
+        String dependency;
+        Requirement requirement;
+        DependencyType dependencyType;
+    }
+
+    /**
+     * Component which could not be resolved.
+     */
+    @Value
+    public static class UnsatisfiedDependency {
+        String componentName;
+
+        /**
+         * HARD requirements on the component.
+         */
+        List<DependencyEdge> requirements;
+
+        /**
+         * True if each requirement can be met on its own, but no single version meets all of them. False if the
+         * component is unknown or some requirement matches no version.
+         */
+        boolean conflict;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.component.common.DependencyResolution.DependencyEdge;
+import com.amazon.aws.iot.greengrass.component.common.DependencyResolution.UnsatisfiedDependency;
+import com.vdurmont.semver4j.Requirement;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Resolves component requirements against a catalog of recipe versions. Starting from root requirements, the
+ * transitive closure of {@link ComponentRecipe#getComponentDependencies()} is computed, choosing for each component
+ * the highest version meeting every requirement on it.</p>
+ * <p>Selections are refined until no requirement changes: when a newly selected version changes its dependencies, the
+ * affected components are resolved again, and components no longer required are dropped. Resolution is greedy (it
+ * does not backtrack to lower versions of a dependent to avoid a conflict), and gives up after a bounded number of
+ * steps if selections keep changing.</p>
+ * <p>SOFT requirements are honoured when possible. If no version meets them together with the HARD requirements, the
+ * highest version meeting the HARD requirements is selected and the SOFT requirements are reported.</p>
+ * <p>The catalog is indexed once per resolver into a {@link VersionIndex} per component, so candidate versions are
+ * found by binary search over the compiled requirements. Resolvers are immutable and can be shared between
+ * threads.</p>
+ */
+public final class DependencyResolver {
+
+    private static final VersionIndex<ComponentRecipe> NO_VERSIONS =
+            new VersionIndex<>(Collections.emptyList(), ComponentRecipe::getComponentVersion);
+
+    private final Map<String, VersionIndex<ComponentRecipe>> catalog;
+    private final int catalogSize;
+
+    /**
+     * Create a resolver over a catalog.
+     *
+     * @param recipes candidate recipes, any number of versions per component. For duplicate versions the last one
+     *                wins.
+     */
+    public DependencyResolver(Collection<ComponentRecipe> recipes) {
+        Map<String, List<ComponentRecipe>> byName = new HashMap<>();
+        for (ComponentRecipe recipe : recipes) {
+            byName.computeIfAbsent(recipe.getComponentName(), k -> new ArrayList<>()).add(recipe);
+        }
+        Map<String, VersionIndex<ComponentRecipe>> index = new HashMap<>(byName.size() * 2);
+        int size = 0;
+        for (Map.Entry<String, List<ComponentRecipe>> e : byName.entrySet()) {
+            VersionIndex<ComponentRecipe> versions =
+                    new VersionIndex<>(e.getValue(), ComponentRecipe::getComponentVersion);
+            index.put(e.getKey(), versions);
+            size += versions.size();
+        }
+        this.catalog = index;
+        this.catalogSize = size;
+    }
+
+    /**
+     * Resolve root requirements.
+     *
+     * @param rootRequirements version requirement per root component
+     * @return resolution, see {@link DependencyResolution#isResolved()}
+     */
+    public DependencyResolution resolve(Map<String, Requirement> rootRequirements) {
+        return new Resolution(rootRequirements).run();
+    }
+
+    /**
+     * Indexed versions of a component.
+     */
+    VersionIndex<ComponentRecipe> versionsOf(String componentName) {
+        return catalog.getOrDefault(componentName, NO_VERSIONS);
+    }
+
+    /**
+     * State of a single resolution.
+     */
+    private final class Resolution {
+        // dependency name -> requiring component name (null for roots) -> requirement
+        private final Map<String, Map<String, DependencyEdge>> incoming = new HashMap<>();
+        private final Map<String, ComponentRecipe> selected = new HashMap<>();
+        private final Map<String, UnsatisfiedDependency> unsatisfied = new HashMap<>();
+        private final Map<String, List<DependencyEdge>> softViolations = new HashMap<>();
+        private final Deque<String> pending = new ArrayDeque<>();
+        private final Set<String> queued = new HashSet<>();
+        // recipe requirements come precompiled, root requirements are compiled on first use
+        private final Map<Requirement, CompiledRequirement> compiled = new IdentityHashMap<>();
+
+        Resolution(Map<String, Requirement> rootRequirements) {
+            for (Map.Entry<String, Requirement> root : rootRequirements.entrySet()) {
+                addEdge(new DependencyEdge(null, root.getKey(), root.getValue(), DependencyType.HARD));
+            }
+        }
+
+        DependencyResolution run() {
+            long budget = 16L * (catalogSize + incoming.size()) + 1024;
+            while (!pending.isEmpty()) {
+                if (budget-- == 0) {
+                    return result(false);
+                }
+                String name = pending.poll();
+                queued.remove(name);
+                resolve(name);
+            }
+            return result(true);
+        }
+
+        private void resolve(String name) {
+            Map<String, DependencyEdge> edges = incoming.get(name);
+            ComponentRecipe previous = selected.get(name);
+            unsatisfied.remove(name);
+            softViolations.remove(name);
+            if (edges == null || edges.isEmpty()) {
+                // no longer required
+                incoming.remove(name);
+                deselect(name, previous);
+                return;
+            }
+            List<DependencyEdge> hard = new ArrayList<>(edges.size());
+            List<DependencyEdge> soft = new ArrayList<>();
+            for (DependencyEdge edge : edges.values()) {
+                (edge.getDependencyType() == DependencyType.SOFT ? soft : hard).add(edge);
+            }
+            VersionIndex<ComponentRecipe> versions = versionsOf(name);
+            ComponentRecipe choice = null;
+            if (!soft.isEmpty()) {
+                List<DependencyEdge> all = new ArrayList<>(hard);
+                all.addAll(soft);
+                choice = highestSatisfying(versions, all);
+            }
+            if (choice == null) {
+                choice = highestSatisfying(versions, hard);
+                if (choice != null) {
+                    recordSoftViolations(name, choice, soft);
+                }
+            }
+            if (choice == null && hard.isEmpty()) {
+                // only SOFT requirements and no version at all, which doesn't fail the resolution
+                softViolations.put(name, soft);
+                deselect(name, previous);
+                return;
+            }
+            if (choice == null) {
+                unsatisfied.put(name, new UnsatisfiedDependency(name, hard, isConflict(versions, hard)));
+                deselect(name, previous);
+                return;
+            }
+            if (previous != choice) {
+                deselect(name, previous);
+                selected.put(name, choice);
+                Map<String, DependencyProperties> dependencies = choice.getComponentDependencies();
+                if (dependencies != null) {
+                    for (Map.Entry<String, DependencyProperties> d : dependencies.entrySet()) {
+                        compiled.putIfAbsent(d.getValue().getVersionRequirement(),
+                                d.getValue().getCompiledVersionRequirement());
+                        addEdge(new DependencyEdge(name, d.getKey(), d.getValue().getVersionRequirement(),
+                                d.getValue().getDependencyType()));
+                    }
+                }
+            }
+        }
+
+        private void recordSoftViolations(String name, ComponentRecipe choice, List<DependencyEdge> soft) {
+            List<DependencyEdge> violated = new ArrayList<>();
+            for (DependencyEdge edge : soft) {
+                if (!compiled(edge).isSatisfiedBy(choice.getComponentVersion())) {
+                    violated.add(edge);
+                }
+            }
+            softViolations.put(name, violated);
+        }
+
+        private boolean isConflict(VersionIndex<ComponentRecipe> versions, List<DependencyEdge> hard) {
+            if (versions.size() == 0) {
+                return false;
+            }
+            for (DependencyEdge edge : hard) {
+                if (highestSatisfying(versions, Collections.singletonList(edge)) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Highest version meeting all requirements, or null.
+         */
+        private ComponentRecipe highestSatisfying(VersionIndex<ComponentRecipe> versions,
+                                                  List<DependencyEdge> requirements) {
+            List<CompiledRequirement> all = new ArrayList<>(requirements.size());
+            for (DependencyEdge edge : requirements) {
+                all.add(compiled(edge));
+            }
+            return versions.findHighest(all).orElse(null);
+        }
+
+        private CompiledRequirement compiled(DependencyEdge edge) {
+            return compiled.computeIfAbsent(edge.getRequirement(), CompiledRequirement::compile);
+        }
+
+        private void deselect(String name, ComponentRecipe previous) {
+            if (previous == null) {
+                return;
+            }
+            selected.remove(name);
+            Map<String, DependencyProperties> dependencies = previous.getComponentDependencies();
+            if (dependencies != null) {
+                for (String dependency : dependencies.keySet()) {
+                    Map<String, DependencyEdge> edges = incoming.get(dependency);
+                    if (edges != null) {
+                        edges.remove(name);
+                    }
+                    enqueue(dependency);
+                }
+            }
+        }
+
+        private void addEdge(DependencyEdge edge) {
+            incoming.computeIfAbsent(edge.getDependency(), k -> new HashMap<>()).put(edge.getDependent(), edge);
+            enqueue(edge.getDependency());
+        }
+
+        private void enqueue(String name) {
+            if (queued.add(name)) {
+                pending.add(name);
+            }
+        }
+
+        private DependencyResolution result(boolean converged) {
+            Map<String, ComponentRecipe> ordered = new LinkedHashMap<>();
+            List<List<String>> cycles = new ArrayList<>();
+            Set<String> visiting = new HashSet<>();
+            List<String> path = new ArrayList<>();
+            List<String> names = new ArrayList<>(selected.keySet());
+            Collections.sort(names);
+            for (String name : names) {
+                visit(name, ordered, visiting, path, cycles);
+            }
+            List<DependencyEdge> soft = new ArrayList<>();
+            softViolations.values().forEach(soft::addAll);
+            return new DependencyResolution(Collections.unmodifiableMap(ordered),
+                    Collections.unmodifiableList(new ArrayList<>(unsatisfied.values())),
+                    Collections.unmodifiableList(soft), Collections.unmodifiableList(cycles), converged);
+        }
+
+        // depth first, dependencies are added before their dependents, back edges are cycles
+        private void visit(String name, Map<String, ComponentRecipe> ordered, Set<String> visiting,
+                           List<String> path, List<List<String>> cycles) {
+            ComponentRecipe recipe = selected.get(name);
+            if (recipe == null || ordered.containsKey(name)) {
+                return;
+            }
+            if (!visiting.add(name)) {
+                List<String> cycle = new ArrayList<>(path.subList(path.indexOf(name), path.size()));
+                Collections.reverse(cycle);
+                cycles.add(Collections.unmodifiableList(cycle));
+                return;
+            }
+            path.add(name);
+            Map<String, DependencyProperties> dependencies = recipe.getComponentDependencies();
+            if (dependencies != null) {
+                for (String dependency : dependencies.keySet()) {
+                    visit(dependency, ordered, visiting, path, cycles);
+                }
+            }
+            path.remove(path.size() - 1);
+            visiting.remove(name);
+            ordered.put(name, recipe);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Immutable, compact platform map. The well known keys ({@link Platform#OS_KEY},
+ * {@link Platform#ARCHITECTURE_KEY} and {@link Platform#RUNTIME_KEY}) are held in fixed slots, any other keys in a
+ * small sorted array. The hash code is computed once, and equal instances can be shared through {@link #intern()}.
+ * </p>
+ * <p>This is a read-only {@link Map}, so it can be passed anywhere a platform map is accepted, such as
+ * {@link PlatformHelper#findBestMatch(Map, java.util.List)}. It is equal to any other map with the same entries.
+ * Null values are dropped on construction, as platform matching treats them the same as missing keys.</p>
+ */
+public final class ImmutablePlatform extends AbstractMap<String, String> {
+
+    private static final String[] NO_EXTRAS = new String[0];
+
+    // weak interner, canonical instances are collected once no longer referenced outside of the table
+    private static final Map<ImmutablePlatform, WeakReference<ImmutablePlatform>> INTERNED = new WeakHashMap<>();
+
+    public static final ImmutablePlatform EMPTY = new ImmutablePlatform(null, null, null, NO_EXTRAS, NO_EXTRAS);
+
+    private final String os;
+    private final String architecture;
+    private final String runtime;
+    private final String[] extraKeys;
+    private final String[] extraValues;
+    private final int hash;
+    private Set<Entry<String, String>> entrySet;
+
+    private ImmutablePlatform(String os, String architecture, String runtime, String[] extraKeys,
+                              String[] extraValues) {
+        this.os = os;
+        this.architecture = architecture;
+        this.runtime = runtime;
+        this.extraKeys = extraKeys;
+        this.extraValues = extraValues;
+        int h = entryHash(Platform.OS_KEY, os) + entryHash(Platform.ARCHITECTURE_KEY, architecture)
+                + entryHash(Platform.RUNTIME_KEY, runtime);
+        for (int i = 0; i < extraKeys.length; i++) {
+            h += entryHash(extraKeys[i], extraValues[i]);
+        }
+        this.hash = h;
+    }
+
+    /**
+     * Create an immutable copy of a platform map.
+     *
+     * @param platform platform to copy (typically a {@link Platform})
+     * @return immutable platform, the same instance if it already is one
+     */
+    public static ImmutablePlatform of(Map<String, String> platform) {
+        if (platform instanceof ImmutablePlatform) {
+            return (ImmutablePlatform) platform;
+        }
+        if (platform == null || platform.isEmpty()) {
+            return EMPTY;
+        }
+        String os = null;
+        String architecture = null;
+        String runtime = null;
+        TreeMap<String, String> extras = null;
+        for (Entry<String, String> e : platform.entrySet()) {
+            String key = e.getKey();
+            String value = e.getValue();
+            if (key == null || value == null) {
+                continue;
+            }
+            switch (key) {
+                case Platform.OS_KEY:
+                    os = value;
+                    break;
+                case Platform.ARCHITECTURE_KEY:
+                    architecture = value;
+                    break;
+                case Platform.RUNTIME_KEY:
+                    runtime = value;
+                    break;
+                default:
+                    if (extras == null) {
+                        extras = new TreeMap<>();
+                    }
+                    extras.put(key, value);
+                    break;
+            }
+        }
+        if (extras == null) {
+            return new ImmutablePlatform(os, architecture, runtime, NO_EXTRAS, NO_EXTRAS);
+        }
+        return new ImmutablePlatform(os, architecture, runtime, extras.keySet().toArray(new String[0]),
+                extras.values().toArray(new String[0]));
+    }
+
+    /**
+     * Create an immutable copy of a platform map and intern it.
+     *
+     * @param platform platform to copy
+     * @return canonical instance equal to the given platform
+     */
+    public static ImmutablePlatform interned(Map<String, String> platform) {
+        return of(platform).intern();
+    }
+
+    /**
+     * Return the canonical instance for this platform, so that equal platforms share one instance.
+     *
+     * @return canonical instance
+     */
+    public ImmutablePlatform intern() {
+        synchronized (INTERNED) {
+            WeakReference<ImmutablePlatform> ref = INTERNED.get(this);
+            ImmutablePlatform canonical = ref == null ? null : ref.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            INTERNED.put(this, new WeakReference<>(this));
+            return this;
+        }
+    }
+
+    /**
+     * Convert back to a mutable {@link Platform}.
+     *
+     * @return new platform with the same entries
+     */
+    public Platform toPlatform() {
+        Platform platform = new Platform();
+        platform.putAll(this);
+        return platform;
+    }
+
+    public String getOs() {
+        return os;
+    }
+
+    public String getArchitecture() {
+        return architecture;
+    }
+
+    public String getRuntime() {
+        return runtime;
+    }
+
+    /**
+     * Retrieve specified field. Use wildcard if field does not exist or empty string.
+     * @param name Name of field
+     * @return Field, substituting wildcard as needed.
+     */
+    public String getFieldOrWild(String name) {
+        String value = get(name);
+        if (value == null || value.length() == 0) {
+            return Platform.WILDCARD;
+        }
+        return value;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        switch ((String) key) {
+            case Platform.OS_KEY:
+                return os;
+            case Platform.ARCHITECTURE_KEY:
+                return architecture;
+            case Platform.RUNTIME_KEY:
+                return runtime;
+            default:
+                int index = Arrays.binarySearch(extraKeys, key);
+                return index < 0 ? null : extraValues[index];
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return (os == null ? 0 : 1) + (architecture == null ? 0 : 1) + (runtime == null ? 0 : 1) + extraKeys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> entries = entrySet;
+        if (entries == null) {
+            entries = new EntrySet();
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof ImmutablePlatform) {
+            ImmutablePlatform other = (ImmutablePlatform) o;
+            return hash == other.hash
+                    && equalSlot(os, other.os)
+                    && equalSlot(architecture, other.architecture)
+                    && equalSlot(runtime, other.runtime)
+                    && Arrays.equals(extraKeys, other.extraKeys)
+                    && Arrays.equals(extraValues, other.extraValues);
+        }
+        return super.equals(o);
+    }
+
+    private static boolean equalSlot(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static int entryHash(String key, String value) {
+        // same as Map.Entry#hashCode, absent slots do not contribute
+        return value == null ? 0 : key.hashCode() ^ value.hashCode();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ImmutablePlatform.this.size();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+        // 0..2 are the fixed slots, 3.. index the extras
+        private int position = advance(0);
+
+        private int advance(int from) {
+            int p = from;
+            while (p < 3 && slot(p) == null) {
+                p++;
+            }
+            return p;
+        }
+
+        private String slot(int p) {
+            switch (p) {
+                case 0:
+                    return os;
+                case 1:
+                    return architecture;
+                default:
+                    return runtime;
+            }
+        }
+
+        private String slotKey(int p) {
+            switch (p) {
+                case 0:
+                    return Platform.OS_KEY;
+                case 1:
+                    return Platform.ARCHITECTURE_KEY;
+                default:
+                    return Platform.RUNTIME_KEY;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < 3 + extraKeys.length;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> entry;
+            if (position < 3) {
+                entry = new SimpleImmutableEntry<>(slotKey(position), slot(position));
+                position = advance(position + 1);
+            } else {
+                int index = position - 3;
+                entry = new SimpleImmutableEntry<>(extraKeys[index], extraValues[index]);
+                position++;
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Structural hash of JSON content. The same value is produced for a {@link JsonNode} and for the token stream the
+ * node was read from, so content can be hashed without building a tree. Equal trees always hash the same: object
+ * members are combined independently of their order, and a repeated member name only counts once (last one wins,
+ * as when reading a tree). Numbers hash by value, so the same document hashes the same whichever format it was
+ * read from.</p>
+ */
+public final class JsonStructuralHash {
+
+    private static final int NULL_HASH = 0x6e756c6c;
+    private static final int OBJECT_SEED = 0x7b7d;
+    private static final int ARRAY_SEED = 0x5b5d;
+
+    private JsonStructuralHash() {
+    }
+
+    /**
+     * Hash a tree.
+     *
+     * @param node tree, may be null
+     * @return structural hash
+     */
+    public static int hash(JsonNode node) {
+        if (node == null) {
+            return NULL_HASH;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT:
+                int objectHash = OBJECT_SEED;
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    objectHash += field.getKey().hashCode() ^ hash(field.getValue());
+                }
+                return objectHash;
+            case ARRAY:
+                int arrayHash = ARRAY_SEED;
+                for (JsonNode element : node) {
+                    arrayHash = 31 * arrayHash + hash(element);
+                }
+                return arrayHash;
+            case STRING:
+                return node.textValue().hashCode();
+            case NUMBER:
+                return numberHash(node.numberValue());
+            case BOOLEAN:
+                return Boolean.hashCode(node.booleanValue());
+            case BINARY:
+                try {
+                    return Arrays.hashCode(node.binaryValue());
+                } catch (IOException e) {
+                    // binary nodes hold their bytes, nothing to decode
+                    throw new IllegalStateException(e);
+                }
+            case POJO:
+                return embeddedHash(((POJONode) node).getPojo());
+            default:
+                return NULL_HASH;
+        }
+    }
+
+    /**
+     * Hash the value at the current token of a parser, consuming it. On return the parser is positioned on the last
+     * token of the value.
+     *
+     * @param parser parser positioned on the first token of a value
+     * @return structural hash, same as {@link #hash(JsonNode)} of the tree read from the same tokens
+     * @throws IOException on parse error
+     */
+    public static int hash(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            return NULL_HASH;
+        }
+        switch (token) {
+            case START_OBJECT:
+                Map<String, Integer> members = null;
+                int objectHash = OBJECT_SEED;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    int member = name.hashCode() ^ hash(parser);
+                    if (members == null) {
+                        members = new HashMap<>();
+                    }
+                    Integer previous = members.put(name, member);
+                    objectHash += previous == null ? member : member - previous;
+                }
+                return objectHash;
+            case START_ARRAY:
+                int arrayHash = ARRAY_SEED;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    arrayHash = 31 * arrayHash + hash(parser);
+                }
+                return arrayHash;
+            case VALUE_STRING:
+                return parser.getText().hashCode();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return numberHash(parser.getNumberValue());
+            case VALUE_TRUE:
+                return Boolean.hashCode(true);
+            case VALUE_FALSE:
+                return Boolean.hashCode(false);
+            case VALUE_EMBEDDED_OBJECT:
+                return embeddedHash(parser.getEmbeddedObject());
+            default:
+                return NULL_HASH;
+        }
+    }
+
+    /**
+     * Numbers hash by value, independently of the type the format or parser settings produced (a YAML or CBOR
+     * parser may return a narrower or wider type than a JSON parser for the same number).
+     */
+    private static int numberHash(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return Long.hashCode(value.longValue());
+        }
+        if (value instanceof BigInteger) {
+            BigInteger big = (BigInteger) value;
+            return big.bitLength() < Long.SIZE ? Long.hashCode(big.longValue()) : big.hashCode();
+        }
+        double d = value.doubleValue();
+        if (d == Math.rint(d) && Math.abs(d) < 0x1p63) {
+            // integral floating point values hash like the same integer
+            return Long.hashCode((long) d);
+        }
+        return Double.hashCode(d);
+    }
+
+    private static int embeddedHash(Object value) {
+        if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        }
+        return Objects.hashCode(value);
+    }
+}
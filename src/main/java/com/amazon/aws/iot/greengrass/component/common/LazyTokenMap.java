@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map backed by a buffered token stream. The tokens of the subtree are captured at parse time, and only bound to a
+ * {@link LinkedHashMap} on first access. Once materialized the map behaves like the map the mapper would have
+ * produced, including mutability.
+ */
+final class LazyTokenMap extends AbstractMap<String, Object> {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE =
+            new TypeReference<LinkedHashMap<String, Object>>() {
+            };
+
+    private final ObjectCodec codec;
+    private TokenBuffer tokens;
+    private volatile Map<String, Object> delegate;
+
+    LazyTokenMap(TokenBuffer tokens, ObjectCodec codec) {
+        this.tokens = tokens;
+        this.codec = codec;
+    }
+
+    /**
+     * Capture the object starting at the current token of a parser.
+     *
+     * @param parser parser positioned on START_OBJECT
+     * @return lazy map holding the tokens of the object
+     * @throws IOException on parse error
+     */
+    static LazyTokenMap capture(JsonParser parser) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(parser);
+        tokens.copyCurrentStructure(parser);
+        return new LazyTokenMap(tokens, parser.getCodec());
+    }
+
+    boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    private Map<String, Object> delegate() {
+        Map<String, Object> map = delegate;
+        if (map == null) {
+            synchronized (this) {
+                map = delegate;
+                if (map == null) {
+                    try (JsonParser parser = tokens.asParser(codec)) {
+                        map = parser.readValueAs(MAP_TYPE);
+                    } catch (IOException e) {
+                        // tokens were validated when captured, this is not expected
+                        throw new UncheckedIOException(e);
+                    }
+                    delegate = map;
+                    tokens = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return delegate().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return delegate().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return delegate().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return delegate().entrySet();
+    }
+}
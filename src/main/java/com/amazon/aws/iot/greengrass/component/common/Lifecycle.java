@@ -0,0 +1,294 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Typed, immutable view of a recipe or manifest lifecycle section, see {@link ComponentRecipe#getLifecycleView()}
+ * and {@link PlatformSpecificManifest#getLifecycleView()}.</p>
+ * <p>Keys are matched case-insensitively and kept as written. Within a lifecycle, the known step names (such as
+ * {@code Install} or {@code Run}) are read as {@link Step}s and {@code SetEnv} as environment variables. Any other
+ * key holding an object is a selection keyword, read as a nested lifecycle. Within a step, the other keys holding an
+ * object are selection keywords as well, read as nested steps. Remaining keys are kept as they were read in
+ * {@code properties}.</p>
+ * <p>Values are coerced the way the nucleus reads them: a step given as a string is its script, numeric strings are
+ * accepted for timeouts and the string {@code true} for privileges. A value that can't be coerced, such as a timeout
+ * given as a recipe variable, is left unset.</p>
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Lifecycle {
+    public static final String BOOTSTRAP = "Bootstrap";
+    public static final String INSTALL = "Install";
+    public static final String STARTUP = "Startup";
+    public static final String RUN = "Run";
+    public static final String SHUTDOWN = "Shutdown";
+    public static final String RECOVER = "Recover";
+
+    public static final Lifecycle EMPTY = new Lifecycle(Collections.emptyMap(), Collections.emptyMap(),
+            Collections.emptyMap(), Collections.emptyMap());
+
+    private static final String[] STEP_NAMES = {BOOTSTRAP, INSTALL, STARTUP, RUN, SHUTDOWN, RECOVER};
+    private static final String SET_ENV = "SetEnv";
+    private static final String SCRIPT = "Script";
+    private static final String TIMEOUT = "Timeout";
+    private static final String REQUIRES_PRIVILEGE = "RequiresPrivilege";
+    private static final String SKIP_IF = "Skipif";
+
+    Map<String, Step> steps;
+
+    Map<String, String> setEnv;
+
+    Map<String, Lifecycle> selections;
+
+    Map<String, Object> properties;
+
+    /**
+     * Read a lifecycle section.
+     *
+     * @param lifecycle lifecycle as deserialized, may be null
+     * @return lifecycle view
+     */
+    public static Lifecycle of(Map<String, ?> lifecycle) {
+        if (lifecycle == null || lifecycle.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Step> steps = new LinkedHashMap<>();
+        Map<String, String> setEnv = Collections.emptyMap();
+        Map<String, Lifecycle> selections = new LinkedHashMap<>();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> e : lifecycle.entrySet()) {
+            String key = e.getKey();
+            Object value = e.getValue();
+            if (isStepName(key)) {
+                steps.put(key, Step.of(value));
+            } else if (SET_ENV.equalsIgnoreCase(key)) {
+                setEnv = env(value);
+            } else if (value instanceof Map) {
+                selections.put(key, of(asMap(value)));
+            } else {
+                properties.put(key, value);
+            }
+        }
+        return new Lifecycle(unmodifiable(steps), setEnv, unmodifiable(selections), unmodifiable(properties));
+    }
+
+    /**
+     * Find a step by name, ignoring case.
+     *
+     * @param name step name
+     * @return step, or null if the lifecycle doesn't define it
+     */
+    public Step getStep(String name) {
+        for (Map.Entry<String, Step> e : steps.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(name)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    public Step getBootstrap() {
+        return getStep(BOOTSTRAP);
+    }
+
+    public Step getInstall() {
+        return getStep(INSTALL);
+    }
+
+    public Step getStartup() {
+        return getStep(STARTUP);
+    }
+
+    public Step getRun() {
+        return getStep(RUN);
+    }
+
+    public Step getShutdown() {
+        return getStep(SHUTDOWN);
+    }
+
+    public Step getRecover() {
+        return getStep(RECOVER);
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty() && setEnv.isEmpty() && selections.isEmpty() && properties.isEmpty();
+    }
+
+    private static boolean isStepName(String key) {
+        for (String name : STEP_NAMES) {
+            if (name.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> asMap(Object value) {
+        return (Map<String, ?>) value;
+    }
+
+    private static Map<String, String> env(Object value) {
+        if (!(value instanceof Map) || ((Map<?, ?>) value).isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> env = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> e : asMap(value).entrySet()) {
+            env.put(e.getKey(), e.getValue() == null ? "" : e.getValue().toString());
+        }
+        return Collections.unmodifiableMap(env);
+    }
+
+    private static <V> Map<String, V> unmodifiable(Map<String, V> map) {
+        return map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * One lifecycle step.
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Step {
+        static final Step EMPTY = new Step(null, null, false, Collections.emptyMap(), null, Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap());
+
+        // null if the step has no script of its own
+        String script;
+
+        // seconds, null if not set
+        Integer timeout;
+
+        boolean requiresPrivilege;
+
+        Map<String, String> setEnv;
+
+        // null if not set, or if the skip condition is given per selection keyword
+        SkipCondition skipIf;
+
+        Map<String, SkipCondition> skipIfSelections;
+
+        Map<String, Step> selections;
+
+        Map<String, Object> properties;
+
+        static Step of(Object value) {
+            if (value == null) {
+                return EMPTY;
+            }
+            if (!(value instanceof Map)) {
+                return new Step(value.toString(), null, false, Collections.emptyMap(), null,
+                        Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+            }
+            String script = null;
+            Integer timeout = null;
+            boolean requiresPrivilege = false;
+            Map<String, String> setEnv = Collections.emptyMap();
+            SkipCondition skipIf = null;
+            Map<String, SkipCondition> skipIfSelections = new LinkedHashMap<>();
+            Map<String, Step> selections = new LinkedHashMap<>();
+            Map<String, Object> properties = new LinkedHashMap<>();
+            for (Map.Entry<String, ?> e : asMap(value).entrySet()) {
+                String key = e.getKey();
+                Object v = e.getValue();
+                if (SCRIPT.equalsIgnoreCase(key) && v != null && !(v instanceof Map)) {
+                    script = v.toString();
+                } else if (TIMEOUT.equalsIgnoreCase(key)) {
+                    timeout = timeout(v);
+                } else if (REQUIRES_PRIVILEGE.equalsIgnoreCase(key)) {
+                    requiresPrivilege = Boolean.TRUE.equals(v) || v instanceof String && "true".equalsIgnoreCase(
+                            ((String) v).trim());
+                } else if (SET_ENV.equalsIgnoreCase(key)) {
+                    setEnv = env(v);
+                } else if (SKIP_IF.equalsIgnoreCase(key) && v instanceof Map) {
+                    for (Map.Entry<String, ?> s : asMap(v).entrySet()) {
+                        if (s.getValue() != null) {
+                            skipIfSelections.put(s.getKey(), SkipCondition.parse(s.getValue().toString()));
+                        }
+                    }
+                } else if (SKIP_IF.equalsIgnoreCase(key) && v != null) {
+                    skipIf = SkipCondition.parse(v.toString());
+                } else if (v instanceof Map) {
+                    selections.put(key, of(v));
+                } else {
+                    properties.put(key, v);
+                }
+            }
+            return new Step(script, timeout, requiresPrivilege, setEnv, skipIf, unmodifiable(skipIfSelections),
+                    unmodifiable(selections), unmodifiable(properties));
+        }
+
+        private static Integer timeout(Object value) {
+            if (value instanceof Number) {
+                return ((Number) value).intValue();
+            }
+            if (value instanceof String) {
+                try {
+                    return Integer.valueOf(((String) value).trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Condition under which a step is skipped: {@code onpath <executable>} or {@code exists <file>}.
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class SkipCondition {
+        // null if the expression is not a known condition
+        Type type;
+
+        String argument;
+
+        // as written in the recipe
+        String expression;
+
+        /**
+         * Parse a skip condition.
+         *
+         * @param expression condition as written in the recipe
+         * @return condition, with a null type if the expression is not recognized
+         */
+        public static SkipCondition parse(String expression) {
+            String trimmed = expression.trim();
+            int space = 0;
+            while (space < trimmed.length() && !Character.isWhitespace(trimmed.charAt(space))) {
+                space++;
+            }
+            String keyword = trimmed.substring(0, space).toLowerCase(Locale.ROOT);
+            String argument = trimmed.substring(space).trim();
+            Type type = null;
+            if (!argument.isEmpty()) {
+                if ("onpath".equals(keyword)) {
+                    type = Type.ON_PATH;
+                } else if ("exists".equals(keyword)) {
+                    type = Type.EXISTS;
+                }
+            }
+            return new SkipCondition(type, type == null ? null : argument, expression);
+        }
+
+        public enum Type {
+            // executable found on the PATH
+            ON_PATH,
+            // file exists
+            EXISTS
+        }
+    }
+}
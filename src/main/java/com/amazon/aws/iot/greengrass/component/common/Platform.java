@@ -10,7 +10,6 @@ import lombok.Getter;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * <p>Class representing a Platform map. A platform map is a set of key/value pairs for matching against arbitrary keys.
@@ -34,35 +33,50 @@ public class Platform extends HashMap<String,String> {
     public static final String RUNTIME_KEY = "runtime";
     public static final String WILDCARD = "*";
 
+    // lazily derived enum views of the os and architecture fields
+    private transient volatile CachedEnum<OS> cachedOs;
+    private transient volatile CachedEnum<Architecture> cachedArchitecture;
+
     /**
      * Retrieve specified field. Use wildcard if field does not exist or empty string.
      * @param name Name of field
      * @return Field, substituting wildcard as needed.
      */
     public String getFieldOrWild(String name) {
-        Object o = get(name);
-        if (o == null || ((String)o).length() == 0) {
+        return orWild(get(name));
+    }
+
+    private static String orWild(String value) {
+        if (value == null || value.length() == 0) {
             return WILDCARD;
         } else {
-            return (String)o;
+            return value;
         }
     }
 
-    //@Deprecated
-    private <T extends Enum<T>> T getEnum(String name, Function<String, T> transform) {
-        return transform.apply(getFieldOrWild(name));
-    }
-
     // This is transitional
     //@Deprecated
     public OS getOs() {
-        return getEnum(OS_KEY, OS::getOS);
+        // the cached view is only valid while the field still holds the very same value it was derived from
+        String value = get(OS_KEY);
+        CachedEnum<OS> cached = cachedOs;
+        if (cached == null || cached.source != value) {
+            cached = new CachedEnum<>(value, OS.getOS(orWild(value)));
+            cachedOs = cached;
+        }
+        return cached.value;
     }
 
     // This is transitional
     //@Deprecated
     public Architecture getArchitecture() {
-        return getEnum(ARCHITECTURE_KEY, Architecture::getArch);
+        String value = get(ARCHITECTURE_KEY);
+        CachedEnum<Architecture> cached = cachedArchitecture;
+        if (cached == null || cached.source != value) {
+            cached = new CachedEnum<>(value, Architecture.getArch(orWild(value)));
+            cachedArchitecture = cached;
+        }
+        return cached.value;
     }
 
     /**
@@ -103,6 +117,14 @@ public class Platform extends HashMap<String,String> {
         MACOS("macos"),
         UNKNOWN("unknown");
 
+        private static final Map<String, OS> BY_NAME = new HashMap<>();
+
+        static {
+            for (OS os : values()) {
+                BY_NAME.put(os.name, os);
+            }
+        }
+
         private final String name;
 
         /**
@@ -112,14 +134,15 @@ public class Platform extends HashMap<String,String> {
          */
         public static OS getOS(String value) {
             // "any" and "all" keyword are both accepted in recipe.
-            if (value == null || "any".equalsIgnoreCase(value) || "all".equalsIgnoreCase(value) || "*".equals(value)) {
+            if (value == null || WILDCARD.equals(value)) {
                 return OS.ALL;
             }
-
-            for (OS os : values()) {
-                if (os.getName().equals(value)) {
-                    return os;
-                }
+            OS os = BY_NAME.get(value);
+            if (os != null) {
+                return os;
+            }
+            if (isAnyOrAll(value)) {
+                return OS.ALL;
             }
 
             // return UNKNOWN instead of throw exception. This is to keep backwards compatibility when
@@ -142,6 +165,14 @@ public class Platform extends HashMap<String,String> {
         X86("x86"),
         UNKNOWN("unknown");
 
+        private static final Map<String, Architecture> BY_NAME = new HashMap<>();
+
+        static {
+            for (Architecture arch : values()) {
+                BY_NAME.put(arch.name, arch);
+            }
+        }
+
         private final String name;
 
         /**
@@ -150,20 +181,39 @@ public class Platform extends HashMap<String,String> {
          * @return enum value
          */
         public static Architecture getArch(String value) {
-            if (value == null || "any".equalsIgnoreCase(value) || "all".equalsIgnoreCase(value) || "*".equals(value)) {
+            if (value == null || WILDCARD.equals(value)) {
                 // "any" and "all" keyword are both accepted in recipe.
                 return Architecture.ALL;
             }
-
-            for (Architecture arch : values()) {
-                if (arch.getName().equals(value)) {
-                    return arch;
-                }
+            Architecture arch = BY_NAME.get(value);
+            if (arch != null) {
+                return arch;
+            }
+            if (isAnyOrAll(value)) {
+                return Architecture.ALL;
             }
             return Architecture.UNKNOWN;
         }
     }
 
+    // "any" and "all" keyword are both accepted in recipe, in any case.
+    private static boolean isAnyOrAll(String value) {
+        return value.length() == 3 && ("any".equalsIgnoreCase(value) || ALL_KEYWORD.equalsIgnoreCase(value));
+    }
+
+    /**
+     * Enum value derived from a platform field, together with the field value it was derived from.
+     */
+    private static final class CachedEnum<T> {
+        private final String source;
+        private final T value;
+
+        CachedEnum(String source, T value) {
+            this.source = source;
+            this.value = value;
+        }
+    }
+
     /**
      * This is to help migration to new Platform class
      */
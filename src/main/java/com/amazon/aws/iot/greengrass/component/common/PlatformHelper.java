@@ -27,19 +27,36 @@ public final class PlatformHelper {
      */
     public static Optional<PlatformSpecificManifest> findBestMatch(Map<String, String> targetPlatform,
                                                                    List<PlatformSpecificManifest> manifestList) {
+        return findBestMatch(targetPlatform, manifestList, PlatformPatternCache.getDefault());
+    }
+
+    /**
+     * find best match from a list of recipes, using the given cache for regular expression templates.
+     *
+     * @param targetPlatform Platform attributes to test against (usually the actual platform of the device).
+     * @param manifestList   A list of recipe manifests.
+     * @param patternCache   Cache of compiled templates, or null to compile templates on every evaluation.
+     * @return first matching manifest.
+     */
+    public static Optional<PlatformSpecificManifest> findBestMatch(Map<String, String> targetPlatform,
+                                                                   List<PlatformSpecificManifest> manifestList,
+                                                                   PlatformPatternCache patternCache) {
         //
         // Manifests are listed in order of preference, so the first match is the relevant match
         //
-        return manifestList.stream().filter(m -> isRequirementSatisfied(targetPlatform, m)).findFirst();
+        return manifestList.stream().filter(m -> isRequirementSatisfied(targetPlatform, m, patternCache))
+                .findFirst();
     }
 
     /**
      * Test that the requirements section of a manifest is satisfied.
      * @param targetPlatform Platform to test against (usually the actual platform of the device).
      * @param manifest Single manifest
+     * @param patternCache Cache of compiled templates (may be null)
      * @return
      */
-    private static boolean isRequirementSatisfied(Map<String, String> targetPlatform, PlatformSpecificManifest manifest) {
+    private static boolean isRequirementSatisfied(Map<String, String> targetPlatform, PlatformSpecificManifest manifest,
+                                                  PlatformPatternCache patternCache) {
         //
         // The "requirement" section of the Manifest contains a map of attribute:template
         // Note that it is important that an attribute is permitted to be in targetPlatform but not in requirement,
@@ -51,7 +68,7 @@ public final class PlatformHelper {
             return true; // no platform is considered a wild-card
         }
         return platformRequirement.entrySet().stream().allMatch(e ->
-                isAttributeSatisfied(e.getKey(), targetPlatform.get(e.getKey()), e.getValue()));
+                isAttributeSatisfied(e.getKey(), targetPlatform.get(e.getKey()), e.getValue(), patternCache));
     }
 
     /**
@@ -60,9 +77,11 @@ public final class PlatformHelper {
      * @param name     Attribute name (some names may change match behavior)
      * @param label    Platform label (as provided by target platform, null if not defined)
      * @param template Template (a string)
+     * @param patternCache Cache of compiled templates (may be null)
      * @return true if attribute requirement is satisfied
      */
-    private static boolean isAttributeSatisfied(String name, String label, String template) {
+    private static boolean isAttributeSatisfied(String name, String label, String template,
+                                                PlatformPatternCache patternCache) {
         if (template == null || template.equals(Platform.WILDCARD)) {
             // treat null same as missing template entry.
             // treat both as same as wildcard
@@ -73,8 +92,11 @@ public final class PlatformHelper {
             // (each indicate no value)
             return false;
         }
-        if (template.length() >= 2 && template.startsWith("/") && template.endsWith("/")) {
+        if (isRegexTemplate(template)) {
             // regular expression match, such as for alternatives
+            if (patternCache != null) {
+                return patternCache.getPattern(template).matcher(label).matches();
+            }
             return label.matches(template.substring(1, template.length()-1));
         }
         // TODO: Remove for re:Invent. This is here to maintain existing behavior
@@ -88,11 +110,31 @@ public final class PlatformHelper {
             return true; // treat as wildcard
         }
         // Other special symbols may be implemented here, so we permit only simple labels for platform matching
-        if (!SIMPLE_LABEL.matcher(template).lookingAt()) {
+        if (!isSimpleLabel(template)) {
             // reject any special labels, to allow future extension
             // Review note, how to log?
             return false;
         }
         return template.equals(label);
     }
+
+    /**
+     * Test if a template is a regular expression, i.e. of the form /regex/.
+     *
+     * @param template Template (a string)
+     * @return true if template is a regular expression
+     */
+    static boolean isRegexTemplate(String template) {
+        return template.length() >= 2 && template.startsWith("/") && template.endsWith("/");
+    }
+
+    /**
+     * Test if a template is a simple label, i.e. does not start with a reserved symbol.
+     *
+     * @param template Template (a string)
+     * @return true if template may be used for an exact match
+     */
+    static boolean isSimpleLabel(String template) {
+        return SIMPLE_LABEL.matcher(template).lookingAt();
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe, size bounded cache of compiled platform regular expression templates, keyed by template
+ * (including the enclosing slashes). Least recently used entries are evicted once the maximum size is reached.
+ */
+public final class PlatformPatternCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private static final PlatformPatternCache DEFAULT = new PlatformPatternCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final int maximumSize;
+    private final Map<String, Pattern> patterns;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param maximumSize maximum number of compiled patterns to keep
+     */
+    public PlatformPatternCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.patterns = new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                if (size() > PlatformPatternCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Shared cache used by {@link PlatformHelper#findBestMatch(Map, java.util.List)}.
+     *
+     * @return shared cache
+     */
+    public static PlatformPatternCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retrieve the compiled pattern of a /regex/ template, compiling it on a miss.
+     *
+     * @param template Template (a string) of the form /regex/
+     * @return compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid, invalid expressions are not cached
+     */
+    public Pattern getPattern(String template) {
+        synchronized (patterns) {
+            Pattern pattern = patterns.get(template);
+            if (pattern != null) {
+                hitCount.increment();
+                return pattern;
+            }
+        }
+        missCount.increment();
+        // compile outside of the lock, a concurrent miss on the same template at worst compiles twice
+        Pattern pattern = Pattern.compile(template.substring(1, template.length() - 1));
+        synchronized (patterns) {
+            Pattern existing = patterns.putIfAbsent(template, pattern);
+            return existing == null ? pattern : existing;
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Number of compiled patterns currently held.
+     *
+     * @return cache size
+     */
+    public int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Remove all compiled patterns. Counters are not reset.
+     */
+    public void clear() {
+        synchronized (patterns) {
+            patterns.clear();
+        }
+    }
+}
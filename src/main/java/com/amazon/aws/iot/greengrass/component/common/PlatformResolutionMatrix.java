@@ -0,0 +1,96 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Dense result of a batch platform resolution: for each (recipe, platform) pair the manifest that
+ * {@link PlatformHelper#findBestMatch(Map, List)} would select. Recipes keep the order they were supplied in,
+ * platforms are the distinct target platforms in order of first appearance.
+ */
+public final class PlatformResolutionMatrix {
+
+    private final List<ComponentRecipe> recipes;
+    private final List<Map<String, String>> platforms;
+    private final Map<Map<String, String>, Integer> platformIndex;
+    private final List<PlatformSpecificManifest>[] manifests;
+    // row major, recipes x platforms, index into the recipe manifest list or -1 for no match
+    private final int[] matches;
+
+    PlatformResolutionMatrix(List<ComponentRecipe> recipes, List<Map<String, String>> platforms,
+                             Map<Map<String, String>, Integer> platformIndex,
+                             List<PlatformSpecificManifest>[] manifests, int[] matches) {
+        this.recipes = Collections.unmodifiableList(recipes);
+        this.platforms = Collections.unmodifiableList(platforms);
+        this.platformIndex = platformIndex;
+        this.manifests = manifests;
+        this.matches = matches;
+    }
+
+    /**
+     * Recipes (rows) of the matrix, in the order supplied.
+     *
+     * @return list of recipes
+     */
+    public List<ComponentRecipe> getRecipes() {
+        return recipes;
+    }
+
+    /**
+     * Distinct target platforms (columns) of the matrix.
+     *
+     * @return list of platforms
+     */
+    public List<Map<String, String>> getPlatforms() {
+        return platforms;
+    }
+
+    /**
+     * Column of the given platform.
+     *
+     * @param targetPlatform platform to look up, compared by equality
+     * @return column index, or -1 if the platform was not part of the batch
+     */
+    public int indexOfPlatform(Map<String, String> targetPlatform) {
+        Integer index = platformIndex.get(targetPlatform);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Index of the selected manifest within {@link ComponentRecipe#getManifests()}.
+     *
+     * @param recipeIndex   row
+     * @param platformIndex column
+     * @return manifest index, or -1 if no manifest matches
+     */
+    public int getMatchIndex(int recipeIndex, int platformIndex) {
+        checkIndex(recipeIndex, recipes.size());
+        checkIndex(platformIndex, platforms.size());
+        return matches[recipeIndex * platforms.size() + platformIndex];
+    }
+
+    /**
+     * Manifest selected for a recipe on a platform.
+     *
+     * @param recipeIndex   row
+     * @param platformIndex column
+     * @return first matching manifest.
+     */
+    public Optional<PlatformSpecificManifest> findBestMatch(int recipeIndex, int platformIndex) {
+        int match = getMatchIndex(recipeIndex, platformIndex);
+        return match < 0 ? Optional.empty() : Optional.of(manifests[recipeIndex].get(match));
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+        }
+    }
+}
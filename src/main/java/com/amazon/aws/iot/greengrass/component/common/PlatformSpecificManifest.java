@@ -5,10 +5,15 @@
 
 package com.amazon.aws.iot.greengrass.component.common;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 import java.util.Collections;
 import java.util.List;
@@ -17,7 +22,6 @@ import java.util.Objects;
 
 @JsonDeserialize(builder = PlatformSpecificManifest.PlatformSpecificManifestBuilder.class)
 @Value
-@Builder
 public class PlatformSpecificManifest {
 
     /**
@@ -30,28 +34,57 @@ public class PlatformSpecificManifest {
      * </ul>
      * A String beginning with any other symbol is reserved for future use.
      */
-    @Builder.Default
-    Platform platform = null;
+    Platform platform;
 
     /**
      * Friendly name of this platform. If missing, UI name is derived from set of attributes in Platform
      */
-    @Builder.Default
-    String name = null;
+    String name;
 
-    @Builder.Default
-    Map<String, Object> lifecycle = Collections.emptyMap();
+    Map<String, Object> lifecycle;
 
     List<ComponentArtifact> artifacts;
 
     /**
      * Set of lifecycle selections enabled by this platform (optional)
      */
-    @Builder.Default
-    List<String> selections = null;
+    List<String> selections;
+
+    // typed view of lifecycle, parsed on first use
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile Lifecycle lifecycleView;
+
+    @Builder
+    PlatformSpecificManifest(Platform platform, String name, Map<String, Object> lifecycle,
+                             List<ComponentArtifact> artifacts, List<String> selections) {
+        this.platform = platform;
+        this.name = name;
+        this.lifecycle = lifecycle;
+        this.artifacts = artifacts;
+        this.selections = selections;
+    }
+
+    /**
+     * Typed view of the lifecycle section, parsed on first use and kept. Changes made inside the lifecycle map
+     * after it was parsed are not reflected.
+     *
+     * @return lifecycle view, empty if the manifest has no lifecycle
+     */
+    @JsonIgnore
+    public Lifecycle getLifecycleView() {
+        Lifecycle view = lifecycleView;
+        if (view == null) {
+            view = Lifecycle.of(lifecycle);
+            lifecycleView = view;
+        }
+        return view;
+    }
 
     @JsonPOJOBuilder(withPrefix = "")
     public static class PlatformSpecificManifestBuilder {
+        private Map<String, Object> lifecycle = Collections.emptyMap();
         private List<ComponentArtifact> artifacts = Collections.emptyList(); // default to empty list
 
         public PlatformSpecificManifestBuilder artifacts(List<ComponentArtifact> artifacts) {
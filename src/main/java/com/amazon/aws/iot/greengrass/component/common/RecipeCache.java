@@ -0,0 +1,246 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Thread-safe cache of parsed recipes keyed by content digest, so identical recipe documents are only parsed
+ * once. The digest is the SHA-256 of the document after dropping a UTF-8 byte order mark and converting CRLF line
+ * endings to LF.</p>
+ * <p>The cache is bounded by the total size of the cached documents in bytes, and evicts least recently used
+ * recipes first. Documents larger than the bypass size are parsed without being cached. Recipes are immutable
+ * Lombok {@code @Value} objects, so cached instances are shared between callers.</p>
+ */
+public final class RecipeCache {
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAXIMUM_RECIPE_SIZE = 1024 * 1024;
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ObjectMapper mapper;
+    private final long maximumWeight;
+    private final int maximumRecipeSize;
+    // access ordered, eldest first
+    private final LinkedHashMap<Digest, Cached> recipes = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder bypassCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Create a cache parsing with {@link SerializerFactory#getRecipeSerializer()}, which reads YAML and JSON.
+     *
+     * @param maximumWeight     maximum total size in bytes of the documents of cached recipes
+     * @param maximumRecipeSize documents larger than this are parsed without being cached
+     */
+    public RecipeCache(long maximumWeight, int maximumRecipeSize) {
+        this(SerializerFactory.getRecipeSerializer(), maximumWeight, maximumRecipeSize);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param mapper            mapper used to parse documents on a miss
+     * @param maximumWeight     maximum total size in bytes of the documents of cached recipes
+     * @param maximumRecipeSize documents larger than this are parsed without being cached
+     */
+    public RecipeCache(ObjectMapper mapper, long maximumWeight, int maximumRecipeSize) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        if (maximumRecipeSize < 0) {
+            throw new IllegalArgumentException("Maximum recipe size must not be negative");
+        }
+        this.mapper = mapper;
+        this.maximumWeight = maximumWeight;
+        this.maximumRecipeSize = maximumRecipeSize;
+    }
+
+    /**
+     * Parse a recipe document, returning the cached recipe if the same content was parsed before.
+     *
+     * @param document recipe document
+     * @return recipe
+     * @throws IOException if the document can't be parsed, failures are not cached
+     */
+    public ComponentRecipe get(byte[] document) throws IOException {
+        if (document.length > maximumRecipeSize) {
+            bypassCount.increment();
+            return mapper.readValue(document, ComponentRecipe.class);
+        }
+        Digest digest = digest(document);
+        synchronized (recipes) {
+            Cached cached = recipes.get(digest);
+            if (cached != null) {
+                hitCount.increment();
+                return cached.recipe;
+            }
+        }
+        missCount.increment();
+        // parse outside of the lock, a concurrent miss on the same document at worst parses twice
+        ComponentRecipe recipe = mapper.readValue(document, ComponentRecipe.class);
+        synchronized (recipes) {
+            Cached existing = recipes.putIfAbsent(digest, new Cached(recipe, document.length));
+            if (existing != null) {
+                return existing.recipe;
+            }
+            weight += document.length;
+            evict();
+            return recipe;
+        }
+    }
+
+    private void evict() {
+        Iterator<Cached> eldest = recipes.values().iterator();
+        while (weight > maximumWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+            evictionCount.increment();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public int getMaximumRecipeSize() {
+        return maximumRecipeSize;
+    }
+
+    /**
+     * Number of cached recipes.
+     *
+     * @return cache size
+     */
+    public int size() {
+        synchronized (recipes) {
+            return recipes.size();
+        }
+    }
+
+    /**
+     * Total size in bytes of the documents of cached recipes.
+     *
+     * @return cache weight
+     */
+    public long getWeight() {
+        synchronized (recipes) {
+            return weight;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Number of documents parsed without caching because they exceeded the maximum recipe size.
+     *
+     * @return bypass count
+     */
+    public long getBypassCount() {
+        return bypassCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Ratio of lookups served from the cache, bypassed documents excluded.
+     *
+     * @return hit ratio, 1 if there were no lookups yet
+     */
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * Remove all cached recipes. Counters are not reset.
+     */
+    public void clear() {
+        synchronized (recipes) {
+            recipes.clear();
+            weight = 0;
+        }
+    }
+
+    static Digest digest(byte[] document) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        int start = startsWithBom(document) ? UTF8_BOM.length : 0;
+        // feed runs between line endings, replacing each CRLF with LF
+        int runStart = start;
+        for (int i = start; i < document.length - 1; i++) {
+            if (document[i] == '\r' && document[i + 1] == '\n') {
+                sha256.update(document, runStart, i - runStart);
+                runStart = i + 1;
+            }
+        }
+        sha256.update(document, runStart, document.length - runStart);
+        return new Digest(sha256.digest());
+    }
+
+    private static boolean startsWithBom(byte[] document) {
+        return document.length >= UTF8_BOM.length && document[0] == UTF8_BOM[0] && document[1] == UTF8_BOM[1]
+                && document[2] == UTF8_BOM[2];
+    }
+
+    static final class Digest {
+        private final byte[] value;
+        private final int hash;
+
+        private Digest(byte[] value) {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Digest && Arrays.equals(value, ((Digest) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Cached {
+        private final ComponentRecipe recipe;
+        private final int weight;
+
+        private Cached(ComponentRecipe recipe, int weight) {
+            this.recipe = recipe;
+            this.weight = weight;
+        }
+    }
+}
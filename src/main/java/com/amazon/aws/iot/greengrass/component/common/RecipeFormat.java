@@ -0,0 +1,29 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Encodings a recipe document can be read from or written to.
+ */
+public enum RecipeFormat {
+    YAML(SerializerFactory.getRecipeSerializer().getFactory()),
+    JSON(SerializerFactory.getRecipeSerializerJson().getFactory()),
+    SMILE(SerializerFactory.getRecipeSerializerSmile().getFactory()),
+    CBOR(new CBORFactory());
+
+    private final JsonFactory factory;
+
+    RecipeFormat(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    JsonFactory getFactory() {
+        return factory;
+    }
+}
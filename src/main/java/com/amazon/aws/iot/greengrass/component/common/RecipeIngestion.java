@@ -0,0 +1,283 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * <p>Reads many recipe files concurrently with {@link RecipeReader}, for bulk imports of whole recipe
+ * repositories. Files ending in {@code .json} are read as JSON, anything else as YAML.</p>
+ * <p>Files are handed to the workers as they are listed, with backpressure: at most twice the parallelism of files
+ * are queued or being read, and the sizes of those files must fit in the memory budget. A file larger than the
+ * budget is read alone. The budget bounds how much recipe data is in memory at once, not the exact heap use.</p>
+ * <p>Results are delivered to a {@link Listener} from the worker threads, and each run returns its throughput and
+ * latency {@link Stats}.</p>
+ */
+public final class RecipeIngestion {
+
+    private static final long DEFAULT_MAX_BUFFERED_BYTES = 64L * 1024 * 1024;
+    // memory budget permits are counted in KiB so that budgets above 2 GiB fit in a semaphore
+    private static final int PERMIT_BYTES = 1024;
+
+    private final int parallelism;
+
+    private final long maxBufferedBytes;
+
+    private final Executor executor;
+
+    /**
+     * Create an ingestion pipeline.
+     *
+     * @param parallelism      number of files read concurrently, defaults to the number of processors
+     * @param maxBufferedBytes total size of the files queued or being read, defaults to 64 MiB
+     * @param executor         executor running the reads, defaults to a pool of {@code parallelism} threads
+     *                         created for each run
+     */
+    @Builder
+    public RecipeIngestion(Integer parallelism, Long maxBufferedBytes, Executor executor) {
+        this.parallelism = parallelism == null ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.maxBufferedBytes = maxBufferedBytes == null ? DEFAULT_MAX_BUFFERED_BYTES : maxBufferedBytes;
+        if (this.parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (this.maxBufferedBytes < 1) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 byte");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Read all recipe files ({@code .yaml}, {@code .yml} and {@code .json}) under a directory.
+     *
+     * @param root     directory to walk
+     * @param listener receives each recipe or error, called concurrently
+     * @return statistics of the run
+     * @throws IOException if the directory can't be walked or the run is interrupted
+     */
+    public Stats ingest(@NonNull Path root, @NonNull Listener listener) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return ingest(paths.filter(RecipeIngestion::isRecipeFile).filter(Files::isRegularFile).iterator(),
+                    listener);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read recipe files from a sequence of paths. Paths are only pulled as fast as the files are read.
+     *
+     * @param paths    recipe files
+     * @param listener receives each recipe or error, called concurrently
+     * @return statistics of the run
+     * @throws IOException if the run is interrupted
+     */
+    public Stats ingest(@NonNull Iterator<Path> paths, @NonNull Listener listener) throws IOException {
+        ExecutorService owned = executor == null ? Executors.newFixedThreadPool(parallelism, new WorkerFactory())
+                : null;
+        Executor workers = owned == null ? executor : owned;
+        int maxFiles = parallelism * 2;
+        int budget = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxBufferedBytes / PERMIT_BYTES));
+        Semaphore files = new Semaphore(maxFiles);
+        Semaphore memory = new Semaphore(budget);
+        Run run = new Run(listener);
+        long start = System.nanoTime();
+        try {
+            while (paths.hasNext()) {
+                Path path = paths.next();
+                long size;
+                try {
+                    size = Files.size(path);
+                } catch (IOException e) {
+                    run.failed(path, e);
+                    continue;
+                }
+                int permits = (int) Math.min(budget, Math.max(1, (size + PERMIT_BYTES - 1) / PERMIT_BYTES));
+                files.acquire();
+                memory.acquire(permits);
+                try {
+                    workers.execute(() -> {
+                        try {
+                            run.read(path, size);
+                        } finally {
+                            memory.release(permits);
+                            files.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    memory.release(permits);
+                    files.release();
+                    throw e;
+                }
+            }
+            // wait for the files still being read
+            files.acquire(maxFiles);
+            files.release(maxFiles);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Recipe ingestion interrupted");
+        } finally {
+            if (owned != null) {
+                owned.shutdown();
+            }
+        }
+        return run.stats(System.nanoTime() - start);
+    }
+
+    private static boolean isRecipeFile(Path path) {
+        if (path.getFileName() == null) {
+            return false;
+        }
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".yaml") || name.endsWith(".yml") || name.endsWith(".json");
+    }
+
+    private static boolean isJson(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    /**
+     * Receives the outcome of each file. Methods are called from the worker threads, concurrently.
+     */
+    public interface Listener {
+        void onRecipe(Path path, ComponentRecipe recipe);
+
+        /**
+         * Called when a file can't be read or is not a valid recipe, or when {@link #onRecipe} threw.
+         *
+         * @param path  recipe file
+         * @param error cause
+         */
+        void onError(Path path, Exception error);
+    }
+
+    /**
+     * Throughput and latency of a run. Latency is the time to read and parse one file, percentiles are over the
+     * files read successfully.
+     */
+    @Value
+    public static class Stats {
+        long files;
+
+        long failures;
+
+        long bytes;
+
+        long elapsedNanos;
+
+        long p50LatencyNanos;
+
+        long p90LatencyNanos;
+
+        long p99LatencyNanos;
+
+        long maxLatencyNanos;
+
+        public double getFilesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (files + failures) * 1e9 / elapsedNanos;
+        }
+
+        public double getMegabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+    }
+
+    /**
+     * State of one run, shared by its workers.
+     */
+    private static final class Run {
+        private final Listener listener;
+        private final LongAdder files = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private long[] latencies = new long[1024];
+        private int latencyCount;
+
+        Run(Listener listener) {
+            this.listener = listener;
+        }
+
+        void read(Path path, long size) {
+            long start = System.nanoTime();
+            bytes.add(size);
+            ComponentRecipe recipe;
+            try (InputStream in = Files.newInputStream(path)) {
+                recipe = (isJson(path) ? RecipeReader.json() : RecipeReader.yaml()).read(in);
+            } catch (IOException | RuntimeException e) {
+                failed(path, e);
+                return;
+            }
+            record(System.nanoTime() - start);
+            try {
+                listener.onRecipe(path, recipe);
+                files.increment();
+            } catch (RuntimeException e) {
+                failed(path, e);
+            }
+        }
+
+        void failed(Path path, Exception e) {
+            failures.increment();
+            listener.onError(path, e);
+        }
+
+        private synchronized void record(long latency) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = latency;
+        }
+
+        synchronized Stats stats(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            return new Stats(files.sum(), failures.sum(), bytes.sum(), elapsedNanos, percentile(sorted, 50),
+                    percentile(sorted, 90), percentile(sorted, 99), sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // nearest rank
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+        private static final AtomicInteger RUNS = new AtomicInteger();
+        private final int run = RUNS.incrementAndGet();
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "recipe-ingestion-" + run + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.vdurmont.semver4j.Semver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Streaming recipe reader. Top level recipe fields are read token by token straight into a
+ * {@link ComponentRecipe.ComponentRecipeBuilder}, without building a {@link com.fasterxml.jackson.databind.JsonNode}
+ * tree of the whole document first. Nested structures (manifests, dependencies, configuration) are bound from the
+ * same token stream by the recipe mapper, so naming and case-insensitivity rules are the same as for
+ * {@link SerializerFactory}.</p>
+ * <p>The lifecycle section is kept as buffered tokens and only turned into a map on first access, and the default
+ * configuration is kept as compact JSON until first access (see {@link ComponentConfiguration#lazy(byte[])}).</p>
+ * <p>The {@code readReport} methods never fail on an invalid recipe. They check it with {@link RecipeValidator} and
+ * bind it from the same buffered tokens, and return every violation found together with the recipe if it could be
+ * bound. Readers are thread safe, so a catalog of recipes can be checked in parallel.</p>
+ */
+public final class RecipeReader {
+
+    private static final TypeReference<Map<String, DependencyProperties>> DEPENDENCIES_TYPE =
+            new TypeReference<Map<String, DependencyProperties>>() {
+            };
+    private static final TypeReference<List<PlatformSpecificManifest>> MANIFESTS_TYPE =
+            new TypeReference<List<PlatformSpecificManifest>>() {
+            };
+
+    private static final RecipeReader YAML_READER =
+            new RecipeReader(SerializerFactory.getRecipeSerializer(), RecipeValidator.yaml());
+    private static final RecipeReader JSON_READER =
+            new RecipeReader(SerializerFactory.getRecipeSerializerJson(), RecipeValidator.json());
+
+    private final ObjectMapper mapper;
+
+    private final RecipeValidator validator;
+
+    RecipeReader(ObjectMapper mapper, RecipeValidator validator) {
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Reader for YAML recipes (also accepts JSON, which is a subset of YAML).
+     *
+     * @return reader
+     */
+    public static RecipeReader yaml() {
+        return YAML_READER;
+    }
+
+    /**
+     * Reader for JSON recipes.
+     *
+     * @return reader
+     */
+    public static RecipeReader json() {
+        return JSON_READER;
+    }
+
+    /**
+     * Read a recipe from a stream. The stream is not closed.
+     *
+     * @param in recipe document
+     * @return recipe
+     * @throws IOException if the document can't be parsed or is not a valid recipe
+     */
+    public ComponentRecipe read(InputStream in) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return read(parser);
+        }
+    }
+
+    /**
+     * Read a recipe from a channel. The channel is not closed.
+     *
+     * @param channel recipe document
+     * @return recipe
+     * @throws IOException if the document can't be parsed or is not a valid recipe
+     */
+    public ComponentRecipe read(ReadableByteChannel channel) throws IOException {
+        return read(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Read a recipe from a byte array.
+     *
+     * @param content recipe document
+     * @return recipe
+     * @throws IOException if the document can't be parsed or is not a valid recipe
+     */
+    public ComponentRecipe read(byte[] content) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(content)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Read a recipe from a parser, positioned before or on the START_OBJECT token of the recipe.
+     *
+     * @param parser parser created by a factory with an {@link ObjectMapper} codec
+     * @return recipe
+     * @throws IOException if the document can't be parsed or is not a valid recipe
+     */
+    public ComponentRecipe read(JsonParser parser) throws IOException {
+        if (parser.getCodec() == null) {
+            parser.setCodec(mapper);
+        }
+        JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser, "Recipe must be an object, found " + token);
+        }
+        ComponentRecipe.ComponentRecipeBuilder builder = ComponentRecipe.builder();
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                readField(parser, builder, name);
+            }
+            return builder.build();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // validation in the builder, surface it the same way data binding would
+            throw JsonMappingException.from(parser, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read a recipe from a stream, collecting all violations instead of failing on the first one. The stream is not
+     * closed.
+     *
+     * @param in recipe document
+     * @return recipe, if it could be bound, and violations
+     * @throws IOException if the stream can't be read
+     */
+    public RecipeReport readReport(InputStream in) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return readReport(parser);
+        }
+    }
+
+    /**
+     * Read a recipe from a byte array, collecting all violations instead of failing on the first one.
+     *
+     * @param content recipe document
+     * @return recipe, if it could be bound, and violations
+     * @throws IOException if the content can't be read
+     */
+    public RecipeReport readReport(byte[] content) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(content)) {
+            return readReport(parser);
+        }
+    }
+
+    /**
+     * Read a recipe from a parser, positioned before or on the first token of the recipe, collecting all violations
+     * instead of failing on the first one. A document which is not well-formed is reported as a violation too.
+     *
+     * @param parser parser created by a factory with an {@link ObjectMapper} codec
+     * @return recipe, if it could be bound, and violations
+     * @throws IOException if the underlying input can't be read
+     */
+    public RecipeReport readReport(JsonParser parser) throws IOException {
+        if (parser.getCodec() == null) {
+            parser.setCodec(mapper);
+        }
+        // parse once, then validate and bind from the buffered tokens
+        TokenBuffer buffer = new TokenBuffer(parser);
+        try {
+            if (parser.currentToken() == null && parser.nextToken() == null) {
+                return new RecipeReport(null,
+                        Collections.singletonList(new RecipeViolation("", "Recipe document is empty")));
+            }
+            buffer.copyCurrentStructure(parser);
+        } catch (JsonProcessingException e) {
+            return new RecipeReport(null, Collections.singletonList(
+                    new RecipeViolation(parser.getParsingContext().pathAsPointer().toString(),
+                            e.getOriginalMessage())));
+        }
+
+        List<RecipeViolation> violations = new ArrayList<>(validator.validate(buffer.asParser(mapper)));
+        ComponentRecipe recipe = null;
+        JsonParser binding = buffer.asParser(mapper);
+        try {
+            recipe = read(binding);
+        } catch (JsonProcessingException e) {
+            String path = binding.getParsingContext().pathAsPointer().toString();
+            if (!isReported(violations, path)) {
+                violations.add(new RecipeViolation(path, e.getOriginalMessage()));
+            }
+        }
+        return new RecipeReport(recipe, violations);
+    }
+
+    /**
+     * Whether a violation was already reported for the path or one of its parents. The root doesn't count as a
+     * parent, a violation of the whole document (such as a missing field) says nothing about the values in it.
+     */
+    private static boolean isReported(List<RecipeViolation> violations, String path) {
+        for (RecipeViolation violation : violations) {
+            String reported = violation.getPath();
+            if (reported.equals(path) || !reported.isEmpty() && path.startsWith(reported + '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readField(JsonParser parser, ComponentRecipe.ComponentRecipeBuilder builder, String name)
+            throws IOException {
+        // property names are UPPER_CAMEL_CASE, matched case-insensitively
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "recipeformatversion":
+                builder.recipeFormatVersion(parser.readValueAs(RecipeFormatVersion.class));
+                break;
+            case "componentname":
+                builder.componentName(readString(parser));
+                break;
+            case "componentversion":
+                builder.componentVersion(parser.readValueAs(Semver.class));
+                break;
+            case "componenttype":
+                builder.componentType(parser.readValueAs(ComponentType.class));
+                break;
+            case "componentdescription":
+                builder.componentDescription(readString(parser));
+                break;
+            case "componentpublisher":
+                builder.componentPublisher(readString(parser));
+                break;
+            case "componentsource":
+                builder.componentSource(readString(parser));
+                break;
+            case "componentconfiguration":
+                builder.componentConfiguration(readConfiguration(parser));
+                break;
+            case "componentdependencies":
+                builder.componentDependencies(parser.readValueAs(DEPENDENCIES_TYPE));
+                break;
+            case "manifests":
+                builder.manifests(parser.readValueAs(MANIFESTS_TYPE));
+                break;
+            case "lifecycle":
+                builder.lifecycle(readLifecycle(parser));
+                break;
+            default:
+                if (mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+                    throw UnrecognizedPropertyException.from(parser, ComponentRecipe.class, name, null);
+                }
+                parser.skipChildren();
+                break;
+        }
+    }
+
+    private ComponentConfiguration readConfiguration(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            // let the mapper report it, or coerce it when configured to
+            return parser.readValueAs(ComponentConfiguration.class);
+        }
+        ComponentConfiguration configuration = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("defaultconfiguration".equals(name.toLowerCase(Locale.ROOT))) {
+                configuration = ComponentConfiguration.lazy(parser);
+            } else if (mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+                throw UnrecognizedPropertyException.from(parser, ComponentConfiguration.class, name, null);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return configuration == null ? new ComponentConfiguration() : configuration;
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        // let the mapper apply its coercion rules to anything else
+        return parser.readValueAs(String.class);
+    }
+
+    private static Map<String, Object> readLifecycle(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser, "Lifecycle must be an object, found " + parser.currentToken());
+        }
+        return LazyTokenMap.capture(parser);
+    }
+}
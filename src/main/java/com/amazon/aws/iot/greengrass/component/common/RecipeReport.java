@@ -0,0 +1,36 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of reading a recipe in collect-all-errors mode, see {@link RecipeReader#readReport(byte[])}.
+ */
+@Value
+public class RecipeReport {
+
+    /**
+     * Recipe, or null if it couldn't be bound. A recipe is bound despite violations of schema constraints that
+     * reading tolerates.
+     */
+    ComponentRecipe recipe;
+
+    @NonNull
+    List<RecipeViolation> violations;
+
+    /**
+     * Whether the recipe was read without any violation.
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return recipe != null && violations.isEmpty();
+    }
+}
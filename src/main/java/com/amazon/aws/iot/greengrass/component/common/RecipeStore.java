@@ -0,0 +1,438 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Semver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Local recipe cache kept in a single append-only data file. An index keyed by component name and
+ * version gives random access to each recipe, which is only decoded when looked up. Recipes are stored in the
+ * {@link BinaryCodec} format.</p>
+ * <p>The data file is the source of truth. Every record carries its length and a CRC32, and each write is forced to
+ * disk before it becomes visible. The index file is rewritten atomically (on {@link #flushIndex()}, on
+ * {@link #close()} and every {@value #INDEX_FLUSH_INTERVAL} writes) and records how much of the data file it covers.
+ * On open, records past that point are recovered by scanning, and a torn record left by a crash is truncated.</p>
+ * <p>Lookups read the data file through a read-only memory mapping, except on Windows. There a mapped file can't
+ * be truncated or deleted until the mapping is garbage collected, so lookups use positional reads instead. Recovery
+ * always uses positional reads, and the file is only mapped once any torn tail has been truncated.</p>
+ * <p>The data file is limited to 2 GiB. Writes are serialized, lookups can run concurrently.</p>
+ */
+public final class RecipeStore implements Closeable {
+
+    static final String DATA_FILE = "recipes.dat";
+    static final String INDEX_FILE = "recipes.idx";
+    static final int INDEX_FLUSH_INTERVAL = 64;
+
+    private static final int RECORD_MAGIC = 0x52435031; // "RCP1"
+    private static final int INDEX_MAGIC = 0x52494431; // "RID1"
+    // magic, body length, body crc
+    private static final int RECORD_HEADER_LENGTH = 12;
+    // Windows locks files with live mappings, which are only released when collected
+    private static final boolean MEMORY_MAPPED =
+            !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private final Path directory;
+    private final FileChannel data;
+    private final Map<Key, Entry> index = new ConcurrentHashMap<>();
+    private final boolean memoryMapped;
+    // null when closed or not memory mapped
+    private volatile MappedByteBuffer mapped;
+    private long dataLength;
+    private int unflushedWrites;
+
+    private RecipeStore(Path directory, FileChannel data, boolean memoryMapped) {
+        this.directory = directory;
+        this.data = data;
+        this.memoryMapped = memoryMapped;
+    }
+
+    /**
+     * Open a store, creating it if the directory holds none.
+     *
+     * @param directory directory holding the store files, created if missing
+     * @return store
+     * @throws IOException if the files can't be read or created
+     */
+    public static RecipeStore open(Path directory) throws IOException {
+        return open(directory, MEMORY_MAPPED);
+    }
+
+    static RecipeStore open(Path directory, boolean memoryMapped) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        RecipeStore store = new RecipeStore(directory, data, memoryMapped);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Store a recipe, replacing any recipe with the same name and version.
+     *
+     * @param recipe recipe
+     * @throws IOException if the recipe can't be encoded or written
+     */
+    public synchronized void put(ComponentRecipe recipe) throws IOException {
+        Key key = new Key(recipe.getComponentName(), recipe.getComponentVersion().getValue());
+        byte[] payload = BinaryCodec.writeRecipe(recipe);
+        byte[] name = key.componentName.getBytes(StandardCharsets.UTF_8);
+        byte[] version = key.version.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer body = ByteBuffer.allocate(4 + name.length + version.length + payload.length);
+        body.putShort((short) name.length).put(name).putShort((short) version.length).put(version).put(payload);
+        body.flip();
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, body.limit());
+
+        long offset = dataLength;
+        long end = offset + RECORD_HEADER_LENGTH + body.limit();
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("Recipe store data file would exceed 2 GiB");
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        header.putInt(RECORD_MAGIC).putInt(body.limit()).putInt((int) crc.getValue());
+        header.flip();
+        writeFully(header, offset);
+        writeFully(body, offset + RECORD_HEADER_LENGTH);
+        data.force(false);
+
+        dataLength = end;
+        index.put(key, new Entry(end - payload.length, payload.length));
+        if (++unflushedWrites >= INDEX_FLUSH_INTERVAL) {
+            flushIndex();
+        }
+    }
+
+    /**
+     * Look up and decode a recipe.
+     *
+     * @param componentName component name
+     * @param version       component version
+     * @return recipe, or empty if not stored
+     * @throws IOException if the stored recipe can't be decoded
+     */
+    public Optional<ComponentRecipe> get(String componentName, Semver version) throws IOException {
+        Entry entry = index.get(new Key(componentName, version.getValue()));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(BinaryCodec.readRecipe(read(entry)));
+    }
+
+    /**
+     * Whether a recipe is stored, without decoding it.
+     *
+     * @param componentName component name
+     * @param version       component version
+     * @return true if stored
+     */
+    public boolean contains(String componentName, Semver version) {
+        return index.containsKey(new Key(componentName, version.getValue()));
+    }
+
+    /**
+     * Stored versions of a component, without decoding any recipe.
+     *
+     * @param componentName component name
+     * @return versions in ascending order
+     */
+    public List<Semver> getVersions(String componentName) {
+        List<Semver> versions = new ArrayList<>();
+        for (Key key : index.keySet()) {
+            if (key.componentName.equals(componentName)) {
+                versions.add(new Semver(key.version));
+            }
+        }
+        Collections.sort(versions);
+        return versions;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Write the index file, so that the next open does not have to scan recent writes.
+     *
+     * @throws IOException if the index can't be written
+     */
+    public synchronized void flushIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeLong(dataLength);
+            out.writeInt(index.size());
+            for (Map.Entry<Key, Entry> e : index.entrySet()) {
+                out.writeUTF(e.getKey().componentName);
+                out.writeUTF(e.getKey().version);
+                out.writeLong(e.getValue().offset);
+                out.writeInt(e.getValue().length);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        new DataOutputStream(bytes).writeLong(crc.getValue());
+
+        Path temp = directory.resolve(INDEX_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(bytes.toByteArray()));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        unflushedWrites = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!data.isOpen()) {
+            return;
+        }
+        try {
+            flushIndex();
+        } finally {
+            mapped = null;
+            data.close();
+        }
+    }
+
+    private void load() throws IOException {
+        long fileLength = data.size();
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IOException("Recipe store data file exceeds 2 GiB");
+        }
+        long covered = loadIndex(fileLength);
+        dataLength = recover(covered, fileLength);
+        if (dataLength < fileLength) {
+            // torn or corrupt tail from an interrupted write, truncated before the file is mapped
+            data.truncate(dataLength);
+            data.force(true);
+        }
+        if (memoryMapped) {
+            mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, dataLength);
+        }
+        if (dataLength != covered) {
+            flushIndex();
+        }
+    }
+
+    /**
+     * Load the index file if it is intact and consistent with the data file.
+     *
+     * @return length of the data file covered by the loaded index, 0 if none was loaded
+     */
+    private long loadIndex(long fileLength) throws IOException {
+        Path path = directory.resolve(INDEX_FILE);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length < Long.BYTES) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Long.BYTES);
+        if (ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong() != crc.getValue()) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                return 0;
+            }
+            long covered = in.readLong();
+            if (covered > fileLength) {
+                // data file lost writes the index knew about, rebuild from the data file
+                return 0;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(in.readUTF(), in.readUTF());
+                index.put(key, new Entry(in.readLong(), in.readInt()));
+            }
+            return covered;
+        } catch (EOFException e) {
+            index.clear();
+            return 0;
+        }
+    }
+
+    /**
+     * Scan records from an offset, adding them to the index.
+     *
+     * @return end of the last intact record
+     */
+    private long recover(long from, long fileLength) throws IOException {
+        if (from == 0) {
+            index.clear();
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        long position = from;
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_LENGTH <= fileLength) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            if (header.getInt() != RECORD_MAGIC) {
+                break;
+            }
+            int bodyLength = header.getInt();
+            int expectedCrc = header.getInt();
+            long bodyStart = position + RECORD_HEADER_LENGTH;
+            if (bodyLength < 4 || bodyStart + bodyLength > fileLength) {
+                break;
+            }
+            byte[] body = new byte[bodyLength];
+            readFully(ByteBuffer.wrap(body), bodyStart);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            ByteBuffer fields = ByteBuffer.wrap(body);
+            String name = readString(fields);
+            String version = readString(fields);
+            if (name == null || version == null) {
+                break;
+            }
+            index.put(new Key(name, version), new Entry(bodyStart + fields.position(), fields.remaining()));
+            position = bodyStart + bodyLength;
+        }
+        return position;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        if (buffer.remaining() < 2) {
+            return null;
+        }
+        int length = buffer.getShort() & 0xffff;
+        if (buffer.remaining() < length) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private byte[] read(Entry entry) throws IOException {
+        if (!memoryMapped) {
+            if (!data.isOpen()) {
+                throw new IOException("Recipe store is closed");
+            }
+            byte[] bytes = new byte[entry.length];
+            readFully(ByteBuffer.wrap(bytes), entry.offset);
+            return bytes;
+        }
+        MappedByteBuffer buffer = mapped;
+        if (buffer == null) {
+            throw new IOException("Recipe store is closed");
+        }
+        if (entry.offset + entry.length > buffer.capacity()) {
+            buffer = remap();
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) entry.offset);
+        byte[] bytes = new byte[entry.length];
+        view.get(bytes);
+        return bytes;
+    }
+
+    private synchronized MappedByteBuffer remap() throws IOException {
+        if (!data.isOpen()) {
+            throw new IOException("Recipe store is closed");
+        }
+        if (mapped.capacity() < dataLength) {
+            mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, dataLength);
+        }
+        return mapped;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long p = position;
+        while (buffer.hasRemaining()) {
+            int read = data.read(buffer, p);
+            if (read < 0) {
+                throw new EOFException("Recipe store data file ends at " + p);
+            }
+            p += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long p = position;
+        while (buffer.hasRemaining()) {
+            p += data.write(buffer, p);
+        }
+    }
+
+    private static final class Key {
+        private final String componentName;
+        private final String version;
+
+        private Key(String componentName, String version) {
+            this.componentName = componentName;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return componentName.equals(key.componentName) && version.equals(key.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentName, version);
+        }
+    }
+
+    private static final class Entry {
+        // position and length of the encoded recipe in the data file
+        private final long offset;
+        private final int length;
+
+        private Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Converts recipes between {@link RecipeFormat}s by copying parser events straight to a generator, without
+ * binding to {@link ComponentRecipe}.</p>
+ * <p>Keys of recipe model objects are normalized to the names the recipe serializers write (UPPER_CAMEL_CASE, matched
+ * case-insensitively), so the output is what a bind and re-serialize round trip would produce. Free-form content
+ * such as lifecycle, platform attributes and default configuration is copied as-is, and so are unknown keys.</p>
+ */
+public final class RecipeTranscoder {
+
+    private static final SerializationConfig CONFIG = SerializerFactory.getRecipeSerializerJson()
+            .getSerializationConfig();
+    private static final JavaType RECIPE_TYPE = CONFIG.constructType(ComponentRecipe.class);
+
+    // lower case property name to declared property, per model class
+    private static final Map<Class<?>, Map<String, Property>> SCHEMAS = new ConcurrentHashMap<>();
+
+    private RecipeTranscoder() {
+    }
+
+    /**
+     * Transcode a recipe.
+     *
+     * @param recipe recipe document
+     * @param from   format of the document
+     * @param to     format to write
+     * @return transcoded document
+     * @throws IOException if the document can't be parsed
+     */
+    public static byte[] transcode(byte[] recipe, RecipeFormat from, RecipeFormat to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(recipe.length);
+        try (JsonParser parser = from.getFactory().createParser(recipe);
+             JsonGenerator generator = to.getFactory().createGenerator(out)) {
+            transcode(parser, generator);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Transcode a recipe between streams. Neither stream is closed.
+     *
+     * @param in   recipe document
+     * @param from format of the document
+     * @param out  stream to write to
+     * @param to   format to write
+     * @throws IOException if the document can't be parsed or written
+     */
+    public static void transcode(InputStream in, RecipeFormat from, OutputStream out, RecipeFormat to)
+            throws IOException {
+        try (JsonParser parser = from.getFactory().createParser(in);
+             JsonGenerator generator = to.getFactory().createGenerator(out)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            transcode(parser, generator);
+        }
+    }
+
+    /**
+     * Copy one recipe from a parser to a generator, normalizing keys. The generator is flushed but not closed.
+     *
+     * @param parser    parser positioned before or on the first token of the recipe
+     * @param generator generator to write to
+     * @throws IOException if the document can't be parsed or written
+     */
+    public static void transcode(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null) {
+            throw new IOException("Recipe document is empty");
+        }
+        copy(parser, generator, RECIPE_TYPE);
+        generator.flush();
+    }
+
+    private static void copy(JsonParser parser, JsonGenerator generator, JavaType type) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            if (type.isMapLikeType()) {
+                copyObject(parser, generator, Collections.emptyMap(), type.getContentType());
+                return;
+            }
+            if (isModel(type)) {
+                copyObject(parser, generator, schema(type), null);
+                return;
+            }
+        } else if (token == JsonToken.START_ARRAY && type.isCollectionLikeType()) {
+            generator.writeStartArray();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                copy(parser, generator, type.getContentType());
+            }
+            generator.writeEndArray();
+            return;
+        }
+        // free-form content and scalars
+        generator.copyCurrentStructure(parser);
+    }
+
+    private static void copyObject(JsonParser parser, JsonGenerator generator, Map<String, Property> properties,
+                                   JavaType valueType) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            Property property = properties.isEmpty() ? null : properties.get(name.toLowerCase(Locale.ROOT));
+            parser.nextToken();
+            if (property != null) {
+                generator.writeFieldName(property.name);
+                copy(parser, generator, property.type);
+            } else {
+                generator.writeFieldName(name);
+                if (valueType == null) {
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    copy(parser, generator, valueType);
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static boolean isModel(JavaType type) {
+        // recipe model classes are all bound through builders
+        JsonDeserialize deserialize = type.getRawClass().getAnnotation(JsonDeserialize.class);
+        return deserialize != null && deserialize.builder() != Void.class;
+    }
+
+    private static Map<String, Property> schema(JavaType type) {
+        return SCHEMAS.computeIfAbsent(type.getRawClass(), c -> {
+            BeanDescription description = CONFIG.introspect(type);
+            Map<String, Property> properties = new HashMap<>();
+            for (BeanPropertyDefinition definition : description.findProperties()) {
+                properties.put(definition.getName().toLowerCase(Locale.ROOT),
+                        new Property(definition.getName(), definition.getPrimaryType()));
+            }
+            return properties;
+        });
+    }
+
+    private static final class Property {
+        private final String name;
+        private final JavaType type;
+
+        private Property(String name, JavaType type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
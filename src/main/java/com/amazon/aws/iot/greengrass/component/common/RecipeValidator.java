@@ -0,0 +1,677 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.vdurmont.semver4j.Semver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Validates recipe documents against the constraints of {@code recipe/recipe_schema.json} and the rules enforced
+ * by {@link ComponentRecipe.ComponentRecipeBuilder} (component name pattern and length, component version length,
+ * syntax and major/minor/patch limits), without a generic JSON schema engine and without binding the recipe.</p>
+ * <p>The document is validated in a single pass over its tokens. Only lifecycle sections, whose schema allows
+ * several alternative shapes, are buffered as trees while they are checked. Property names are matched
+ * case-insensitively, like the recipe mappers do. All violations are reported, with the JSON pointer of the
+ * offending value.</p>
+ */
+public final class RecipeValidator {
+
+    private static final String RECIPE_FORMAT_VERSION = "2020-01-25";
+    private static final String PLUGIN_TYPE = "aws.greengrass.plugin";
+    private static final int COMPONENT_NAME_LENGTH = 128;
+    private static final int COMPONENT_VERSION_LENGTH = 64;
+    private static final int COMPONENT_MAX_VERSION_NUMBER = 999999;
+
+    private static final Pattern COMPONENT_SOURCE_PATTERN =
+            Pattern.compile("^arn:aws(-(cn|us-gov|iso(-[a-z])?))?:lambda:.*$");
+    private static final Pattern SKIP_IF_PATTERN = Pattern.compile("(onpath|exists)\\s+.*");
+
+    private static final Set<String> COMPONENT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "aws.greengrass.nucleus", "aws.greengrass.generic", PLUGIN_TYPE, "aws.greengrass.lambda")));
+    private static final Set<String> DEPENDENCY_TYPES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("SOFT", "HARD")));
+    private static final Set<String> UNARCHIVE_TYPES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("ZIP", "NONE")));
+    private static final Set<String> PERMISSION_TYPES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("NONE", "OWNER", "ALL")));
+    private static final Set<String> LIFECYCLE_STEPS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "bootstrap", "install", "startup", "run", "shutdown", "recover")));
+
+    private static final RecipeValidator YAML_VALIDATOR = new RecipeValidator(SerializerFactory.getRecipeSerializer());
+    private static final RecipeValidator JSON_VALIDATOR =
+            new RecipeValidator(SerializerFactory.getRecipeSerializerJson());
+
+    private final ObjectMapper mapper;
+
+    private RecipeValidator(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Validator for YAML recipes (also accepts JSON, which is a subset of YAML).
+     *
+     * @return validator
+     */
+    public static RecipeValidator yaml() {
+        return YAML_VALIDATOR;
+    }
+
+    /**
+     * Validator for JSON recipes.
+     *
+     * @return validator
+     */
+    public static RecipeValidator json() {
+        return JSON_VALIDATOR;
+    }
+
+    /**
+     * Validate a recipe from a stream. The stream is not closed.
+     *
+     * @param in recipe document
+     * @return violations in document order, empty if the recipe is valid
+     * @throws IOException if the document can't be parsed
+     */
+    public List<RecipeViolation> validate(InputStream in) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return validate(parser);
+        }
+    }
+
+    /**
+     * Validate a recipe from a byte array.
+     *
+     * @param content recipe document
+     * @return violations in document order, empty if the recipe is valid
+     * @throws IOException if the document can't be parsed
+     */
+    public List<RecipeViolation> validate(byte[] content) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(content)) {
+            return validate(parser);
+        }
+    }
+
+    /**
+     * Validate a recipe from a parser, positioned before or on the first token of the recipe.
+     *
+     * @param parser parser on the recipe document
+     * @return violations in document order, empty if the recipe is valid
+     * @throws IOException if the document can't be parsed
+     */
+    public List<RecipeViolation> validate(JsonParser parser) throws IOException {
+        if (parser.getCodec() == null) {
+            parser.setCodec(mapper);
+        }
+        Validation validation = new Validation(parser);
+        JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+        if (token != JsonToken.START_OBJECT) {
+            validation.violation("", "Recipe must be an object, found " + describe(token));
+            parser.skipChildren();
+        } else {
+            validation.recipe();
+        }
+        return validation.violations;
+    }
+
+    /**
+     * State of one validation pass.
+     */
+    private static final class Validation {
+        private final JsonParser parser;
+        private final List<RecipeViolation> violations = new ArrayList<>();
+
+        // manifest lifecycles which must have a script in every step object, unless the component is a plugin
+        private final List<JsonNode> manifestLifecycles = new ArrayList<>();
+        private final List<String> manifestLifecyclePaths = new ArrayList<>();
+
+        private boolean hasComponentType;
+        private boolean plugin;
+
+        Validation(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        void violation(String path, String message) {
+            violations.add(new RecipeViolation(path, message));
+        }
+
+        void recipe() throws IOException {
+            boolean formatVersion = false;
+            boolean name = false;
+            boolean version = false;
+            boolean manifests = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                String path = child("", field);
+                parser.nextToken();
+                switch (field.toLowerCase(Locale.ROOT)) {
+                    case "recipeformatversion":
+                        formatVersion = true;
+                        String formatValue = string(path);
+                        if (formatValue != null && !RECIPE_FORMAT_VERSION.equals(formatValue)) {
+                            violation(path, "RecipeFormatVersion must be " + RECIPE_FORMAT_VERSION);
+                        }
+                        break;
+                    case "componentname":
+                        name = true;
+                        componentName(path);
+                        break;
+                    case "componentversion":
+                        version = true;
+                        componentVersion(path);
+                        break;
+                    case "componenttype":
+                        hasComponentType = true;
+                        String type = string(path);
+                        plugin = PLUGIN_TYPE.equals(type);
+                        if (type != null && !COMPONENT_TYPES.contains(type)) {
+                            violation(path, "ComponentType must be one of " + COMPONENT_TYPES);
+                        }
+                        break;
+                    case "componentdescription":
+                    case "componentpublisher":
+                        string(path);
+                        break;
+                    case "componentsource":
+                        String source = string(path);
+                        if (source != null && !COMPONENT_SOURCE_PATTERN.matcher(source).find()) {
+                            violation(path, "ComponentSource must be a Lambda function ARN");
+                        }
+                        break;
+                    case "componentconfiguration":
+                        // DefaultConfiguration may be anything
+                        if (object(path)) {
+                            parser.skipChildren();
+                        }
+                        break;
+                    case "componentdependencies":
+                        dependencies(path);
+                        break;
+                    case "manifests":
+                        manifests = true;
+                        manifests(path);
+                        break;
+                    case "lifecycle":
+                        topLevelLifecycle(tree(), path);
+                        break;
+                    default:
+                        violation(path, "Unknown property " + field);
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            required(formatVersion, "", "RecipeFormatVersion");
+            required(name, "", "ComponentName");
+            required(version, "", "ComponentVersion");
+            required(manifests, "", "Manifests");
+
+            // the schema only requires scripts when ComponentType is given and is not a plugin
+            if (hasComponentType && !plugin) {
+                for (int i = 0; i < manifestLifecycles.size(); i++) {
+                    missingScripts(manifestLifecycles.get(i), manifestLifecyclePaths.get(i));
+                }
+            }
+        }
+
+        private void componentName(String path) throws IOException {
+            String value = string(path);
+            if (value == null) {
+                return;
+            }
+            if (value.isEmpty()) {
+                violation(path, "Component name is empty");
+                return;
+            }
+            if (value.length() > COMPONENT_NAME_LENGTH) {
+                violation(path, String.format("Component name length exceeds %d characters", COMPONENT_NAME_LENGTH));
+            }
+            if (!ComponentRecipe.COMPONENT_NAME_PATTERN.matcher(value).find()) {
+                violation(path, "Component name could only include characters of ALPHA/DIGIT/\"-\"/\".\"/\"_\"");
+            }
+        }
+
+        private void componentVersion(String path) throws IOException {
+            String value = string(path);
+            if (value == null) {
+                return;
+            }
+            if (value.length() > COMPONENT_VERSION_LENGTH) {
+                violation(path, String.format("Component version length exceeds %d characters",
+                        COMPONENT_VERSION_LENGTH));
+            }
+            Semver semver;
+            try {
+                semver = new Semver(value);
+            } catch (RuntimeException e) {
+                violation(path, "Component version is not a valid semantic version: " + e.getMessage());
+                return;
+            }
+            if (semver.getMajor() > COMPONENT_MAX_VERSION_NUMBER || semver.getMinor() > COMPONENT_MAX_VERSION_NUMBER
+                    || semver.getPatch() > COMPONENT_MAX_VERSION_NUMBER) {
+                violation(path, "Component version major, minor, patch can't exceed 6 digits");
+            }
+        }
+
+        private void dependencies(String path) throws IOException {
+            if (!object(path)) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String dependency = parser.getCurrentName();
+                String dependencyPath = child(path, dependency);
+                parser.nextToken();
+                // the schema only constrains dependencies whose name is a valid component name
+                if (!ComponentRecipe.COMPONENT_NAME_PATTERN.matcher(dependency).find()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (!object(dependencyPath)) {
+                    continue;
+                }
+                boolean versionRequirement = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    String fieldPath = child(dependencyPath, field);
+                    parser.nextToken();
+                    switch (field.toLowerCase(Locale.ROOT)) {
+                        case "versionrequirement":
+                            versionRequirement = true;
+                            string(fieldPath);
+                            break;
+                        case "dependencytype":
+                            oneOf(fieldPath, "DependencyType", DEPENDENCY_TYPES);
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+                required(versionRequirement, dependencyPath, "VersionRequirement");
+            }
+        }
+
+        private void manifests(String path) throws IOException {
+            if (!array(path)) {
+                return;
+            }
+            for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                String manifestPath = path + '/' + i;
+                if (!object(manifestPath)) {
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    String fieldPath = child(manifestPath, field);
+                    parser.nextToken();
+                    switch (field.toLowerCase(Locale.ROOT)) {
+                        case "name":
+                            string(fieldPath);
+                            break;
+                        case "platform":
+                            platform(fieldPath);
+                            break;
+                        case "lifecycle":
+                            JsonNode lifecycle = tree();
+                            lifecycle(lifecycle, fieldPath, false, violations);
+                            manifestLifecycles.add(lifecycle);
+                            manifestLifecyclePaths.add(fieldPath);
+                            break;
+                        case "selections":
+                            selections(fieldPath);
+                            break;
+                        case "artifacts":
+                            artifacts(fieldPath);
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+            }
+        }
+
+        private void platform(String path) throws IOException {
+            if (!object(path)) {
+                return;
+            }
+            // every platform attribute, including os and architecture, is a string
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldPath = child(path, parser.getCurrentName());
+                parser.nextToken();
+                string(fieldPath);
+            }
+        }
+
+        private void selections(String path) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return;
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                violation(path, "Selections must be a string or an array of strings, found "
+                        + describe(parser.currentToken()));
+                parser.skipChildren();
+                return;
+            }
+            for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                string(path + '/' + i);
+            }
+        }
+
+        private void artifacts(String path) throws IOException {
+            if (!array(path)) {
+                return;
+            }
+            for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                String artifactPath = path + '/' + i;
+                if (!object(artifactPath)) {
+                    continue;
+                }
+                boolean uri = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    String fieldPath = child(artifactPath, field);
+                    parser.nextToken();
+                    switch (field.toLowerCase(Locale.ROOT)) {
+                        case "uri":
+                            uri = true;
+                            string(fieldPath);
+                            break;
+                        case "unarchive":
+                            oneOf(fieldPath, "Unarchive", UNARCHIVE_TYPES);
+                            break;
+                        case "permission":
+                            permission(fieldPath);
+                            break;
+                        case "digest":
+                        case "algorithm":
+                            string(fieldPath);
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+                required(uri, artifactPath, "Uri");
+            }
+        }
+
+        private void permission(String path) throws IOException {
+            if (!object(path)) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                String fieldPath = child(path, field);
+                parser.nextToken();
+                String lower = field.toLowerCase(Locale.ROOT);
+                if ("read".equals(lower) || "execute".equals(lower)) {
+                    oneOf(fieldPath, "Permission", PERMISSION_TYPES);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        /**
+         * The top level lifecycle is either a lifecycle, or a selection of lifecycles keyed by selection name.
+         * Anything but an object matches the selection alternative.
+         */
+        private void topLevelLifecycle(JsonNode node, String path) {
+            if (!node.isObject()) {
+                return;
+            }
+            List<RecipeViolation> asLifecycle = new ArrayList<>();
+            lifecycle(node, path, true, asLifecycle);
+            if (asLifecycle.isEmpty()) {
+                return;
+            }
+            List<RecipeViolation> asSelections = new ArrayList<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> e = it.next();
+                lifecycle(e.getValue(), child(path, e.getKey()), true, asSelections);
+            }
+            if (asSelections.isEmpty()) {
+                return;
+            }
+            // report the alternative closest to valid
+            violations.addAll(asSelections.size() < asLifecycle.size() ? asSelections : asLifecycle);
+        }
+
+        private void lifecycle(JsonNode node, String path, boolean requireScript, List<RecipeViolation> sink) {
+            if (!node.isObject()) {
+                sink.add(new RecipeViolation(path, "Lifecycle must be an object, found " + describe(node)));
+                return;
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> e = it.next();
+                String key = e.getKey().toLowerCase(Locale.ROOT);
+                String stepPath = child(path, e.getKey());
+                if ("setenv".equals(key)) {
+                    setenv(e.getValue(), stepPath, sink);
+                } else if (LIFECYCLE_STEPS.contains(key)) {
+                    step(e.getValue(), stepPath, requireScript, sink);
+                }
+            }
+        }
+
+        private void step(JsonNode node, String path, boolean requireScript, List<RecipeViolation> sink) {
+            if (node.isTextual()) {
+                return;
+            }
+            if (!node.isObject()) {
+                sink.add(new RecipeViolation(path, "Lifecycle step must be a string or an object, found "
+                        + describe(node)));
+                return;
+            }
+            boolean script = false;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> e = it.next();
+                JsonNode value = e.getValue();
+                String fieldPath = child(path, e.getKey());
+                switch (e.getKey().toLowerCase(Locale.ROOT)) {
+                    case "skipif":
+                        if (!value.isTextual()) {
+                            sink.add(new RecipeViolation(fieldPath, "Skipif must be a string, found "
+                                    + describe(value)));
+                        } else if (!SKIP_IF_PATTERN.matcher(value.textValue()).find()) {
+                            sink.add(new RecipeViolation(fieldPath,
+                                    "Skipif must be \"onpath <executable>\" or \"exists <file>\""));
+                        }
+                        break;
+                    case "script":
+                        script = true;
+                        if (!value.isTextual()) {
+                            sink.add(new RecipeViolation(fieldPath, "Script must be a string, found "
+                                    + describe(value)));
+                        }
+                        break;
+                    case "requiresprivilege":
+                        if (!value.isBoolean() && !value.isTextual()) {
+                            sink.add(new RecipeViolation(fieldPath,
+                                    "RequiresPrivilege must be a boolean or a string, found " + describe(value)));
+                        }
+                        break;
+                    case "timeout":
+                        if (!value.isIntegralNumber() && !value.isTextual()) {
+                            sink.add(new RecipeViolation(fieldPath,
+                                    "Timeout must be an integer or a string, found " + describe(value)));
+                        }
+                        break;
+                    case "setenv":
+                        setenv(value, fieldPath, sink);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (requireScript && !script) {
+                sink.add(new RecipeViolation(path, "Script is missing"));
+            }
+        }
+
+        private void setenv(JsonNode node, String path, List<RecipeViolation> sink) {
+            if (node.isTextual()) {
+                return;
+            }
+            if (!node.isObject()) {
+                sink.add(new RecipeViolation(path, "Setenv must be a string or an object, found " + describe(node)));
+                return;
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> e = it.next();
+                JsonNode value = e.getValue();
+                if (!value.isNumber() && !value.isTextual() && !value.isBoolean()) {
+                    sink.add(new RecipeViolation(child(path, e.getKey()),
+                            "Environment variable must be a number, a string or a boolean, found "
+                                    + describe(value)));
+                }
+            }
+        }
+
+        /**
+         * Report the step objects without a script in a manifest lifecycle, which was already checked otherwise.
+         */
+        private void missingScripts(JsonNode node, String path) {
+            if (!node.isObject()) {
+                return;
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> e = it.next();
+                JsonNode step = e.getValue();
+                if (LIFECYCLE_STEPS.contains(e.getKey().toLowerCase(Locale.ROOT)) && step.isObject()
+                        && !hasField(step, "script")) {
+                    violation(child(path, e.getKey()), "Script is missing");
+                }
+            }
+        }
+
+        private JsonNode tree() throws IOException {
+            JsonNode node = parser.readValueAsTree();
+            return node == null ? NullNode.getInstance() : node;
+        }
+
+        private void required(boolean present, String path, String name) {
+            if (!present) {
+                violation(path, name + " is missing");
+            }
+        }
+
+        /**
+         * Check the current value is a string, skipping it otherwise.
+         *
+         * @return the string, or null if the value is not a string
+         */
+        private String string(String path) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            violation(path, "Must be a string, found " + describe(parser.currentToken()));
+            parser.skipChildren();
+            return null;
+        }
+
+        private void oneOf(String path, String name, Set<String> values) throws IOException {
+            String value = string(path);
+            if (value != null && !values.contains(value)) {
+                violation(path, name + " must be one of " + values);
+            }
+        }
+
+        /**
+         * Check the current value is an object, skipping it otherwise.
+         *
+         * @return true if the parser is on the START_OBJECT token
+         */
+        private boolean object(String path) throws IOException {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                return true;
+            }
+            violation(path, "Must be an object, found " + describe(parser.currentToken()));
+            parser.skipChildren();
+            return false;
+        }
+
+        private boolean array(String path) throws IOException {
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                return true;
+            }
+            violation(path, "Must be an array, found " + describe(parser.currentToken()));
+            parser.skipChildren();
+            return false;
+        }
+    }
+
+    private static boolean hasField(JsonNode node, String lowerCaseName) {
+        for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+            if (lowerCaseName.equals(it.next().toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String child(String path, String name) {
+        StringBuilder builder = new StringBuilder(path.length() + name.length() + 1).append(path).append('/');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '~') {
+                builder.append("~0");
+            } else if (c == '/') {
+                builder.append("~1");
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String describe(JsonToken token) {
+        if (token == null) {
+            return "nothing";
+        }
+        switch (token) {
+            case START_OBJECT:
+                return "object";
+            case START_ARRAY:
+                return "array";
+            case VALUE_STRING:
+                return "string";
+            case VALUE_NUMBER_INT:
+                return "integer";
+            case VALUE_NUMBER_FLOAT:
+                return "number";
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return "boolean";
+            case VALUE_NULL:
+                return "null";
+            default:
+                return token.toString();
+        }
+    }
+
+    private static String describe(JsonNode node) {
+        return node.isIntegralNumber() ? "integer" : node.getNodeType().toString().toLowerCase(Locale.ROOT);
+    }
+}
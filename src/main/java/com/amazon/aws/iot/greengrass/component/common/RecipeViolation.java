@@ -0,0 +1,31 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A recipe constraint violation found by {@link RecipeValidator}.
+ */
+@Value
+public class RecipeViolation {
+
+    /**
+     * JSON pointer of the offending value, with property names as written in the recipe. For a missing required
+     * property, the pointer of the object that should contain it.
+     */
+    @NonNull
+    String path;
+
+    @NonNull
+    String message;
+
+    @Override
+    public String toString() {
+        return (path.isEmpty() ? "/" : path) + ": " + message;
+    }
+}
@@ -9,11 +9,19 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import java.lang.invoke.MethodHandles;
+
 public class SerializerFactory {
+    // Module replacing reflection with generated accessors. It is only registered on the accelerated mappers, never
+    // picked up by module discovery for the default ones.
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
     private static final ObjectMapper YAML_RECIPE_SERIALIZER =
             new ObjectMapper(new YAMLFactory())
                     .setPropertyNamingStrategy(PropertyNamingStrategy.UPPER_CAMEL_CASE)
@@ -22,21 +30,35 @@ public class SerializerFactory {
                     .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
     private static final ObjectMapper JSON_RECIPE_SERIALIZER =
-            new ObjectMapper(new JsonFactory())
+            registerDiscoveredModules(new ObjectMapper(new JsonFactory())
                     .setPropertyNamingStrategy(PropertyNamingStrategy.UPPER_CAMEL_CASE)
                     .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
                     .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
-                    .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                    .findAndRegisterModules();
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL));
 
     private static final ObjectMapper JSON_CONFIGURATION_SERIALIZER =
-            new ObjectMapper(new JsonFactory())
+            registerDiscoveredModules(new ObjectMapper(new JsonFactory())
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                    .configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false)
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL));
+
+    // binary variants, same naming and case-insensitivity rules as the JSON mappers above
+    private static final ObjectMapper SMILE_RECIPE_SERIALIZER =
+            registerDiscoveredModules(new ObjectMapper(new SmileFactory())
+                    .setPropertyNamingStrategy(PropertyNamingStrategy.UPPER_CAMEL_CASE)
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                    .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL));
+
+    private static final ObjectMapper SMILE_CONFIGURATION_SERIALIZER =
+            registerDiscoveredModules(new ObjectMapper(new SmileFactory())
                     .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
                     .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
                     .configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false)
                     .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                    .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                    .findAndRegisterModules();
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL));
 
     public static ObjectMapper getRecipeSerializer() {
         return YAML_RECIPE_SERIALIZER;
@@ -50,6 +72,117 @@ public class SerializerFactory {
         return JSON_CONFIGURATION_SERIALIZER;
     }
 
+    /**
+     * Recipe mapper for the binary Smile format. See {@link BinaryCodec} for the framed format with a version header.
+     *
+     * @return Smile recipe mapper
+     */
+    public static ObjectMapper getRecipeSerializerSmile() {
+        return SMILE_RECIPE_SERIALIZER;
+    }
+
+    /**
+     * Configuration mapper for the binary Smile format. See {@link BinaryCodec} for the framed format with a version
+     * header.
+     *
+     * @return Smile configuration mapper
+     */
+    public static ObjectMapper getConfigurationSerializerSmile() {
+        return SMILE_CONFIGURATION_SERIALIZER;
+    }
+
+    /**
+     * Variant of {@link #getRecipeSerializer()} using generated accessors instead of reflection, when available.
+     *
+     * @return YAML recipe mapper
+     */
+    public static ObjectMapper getAcceleratedRecipeSerializer() {
+        return AcceleratedSerializers.YAML_RECIPE_SERIALIZER;
+    }
+
+    /**
+     * Variant of {@link #getRecipeSerializerJson()} using generated accessors instead of reflection, when available.
+     *
+     * @return JSON recipe mapper
+     */
+    public static ObjectMapper getAcceleratedRecipeSerializerJson() {
+        return AcceleratedSerializers.JSON_RECIPE_SERIALIZER;
+    }
+
+    /**
+     * Variant of {@link #getConfigurationSerializerJson()} using generated accessors instead of reflection, when
+     * available.
+     *
+     * @return JSON configuration mapper
+     */
+    public static ObjectMapper getAcceleratedConfigurationSerializerJson() {
+        return AcceleratedSerializers.JSON_CONFIGURATION_SERIALIZER;
+    }
+
+    /**
+     * Name of the module used by the accelerated mappers.
+     *
+     * @return module class name, or null if the accelerated mappers fell back to reflection
+     */
+    public static String getAcceleratorModuleName() {
+        return AcceleratedSerializers.MODULE_NAME;
+    }
+
+    private static ObjectMapper registerDiscoveredModules(ObjectMapper mapper) {
+        // same as findAndRegisterModules, minus accessor generation which must be opted into
+        for (Module module : ObjectMapper.findModules()) {
+            if (!BLACKBIRD_MODULE.equals(module.getClass().getName())) {
+                mapper.registerModule(module);
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Accelerated mappers, created on first use. They use Blackbird on Java 9 and later, when the application puts it
+     * on the classpath, and fall back to reflection otherwise.
+     */
+    private static final class AcceleratedSerializers {
+        private static final Module MODULE = loadAcceleratorModule();
+        private static final String MODULE_NAME = MODULE == null ? null : MODULE.getClass().getName();
+
+        private static final ObjectMapper YAML_RECIPE_SERIALIZER = accelerate(SerializerFactory.YAML_RECIPE_SERIALIZER);
+        private static final ObjectMapper JSON_RECIPE_SERIALIZER = accelerate(SerializerFactory.JSON_RECIPE_SERIALIZER);
+        private static final ObjectMapper JSON_CONFIGURATION_SERIALIZER =
+                accelerate(SerializerFactory.JSON_CONFIGURATION_SERIALIZER);
+
+        private static ObjectMapper accelerate(ObjectMapper mapper) {
+            ObjectMapper copy = mapper.copy();
+            if (MODULE != null) {
+                copy.registerModule(MODULE);
+            }
+            return copy;
+        }
+
+        private static Module loadAcceleratorModule() {
+            // Blackbird needs private lookups, added in Java 9
+            return hasPrivateLookup() ? instantiate(BLACKBIRD_MODULE) : null;
+        }
+
+        private static boolean hasPrivateLookup() {
+            try {
+                MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        private static Module instantiate(String className) {
+            try {
+                return (Module) Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // not on the classpath, or not usable on this JVM
+                return null;
+            }
+        }
+    }
+
     private SerializerFactory() {
     }
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.component.common.CompiledRequirement.Comparator;
+import com.amazon.aws.iot.greengrass.component.common.CompiledRequirement.Interval;
+import com.amazon.aws.iot.greengrass.component.common.CompiledRequirement.Operator;
+import com.vdurmont.semver4j.Semver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * <p>Versions of a component sorted for range queries. Each interval of a {@link CompiledRequirement} maps to a
+ * range of indexes found with binary search, so looking up the highest or all satisfying versions does not test
+ * every known version. Versions inside a range are still checked against the requirement, which applies the
+ * prerelease rules.</p>
+ * <p>Requirements that are not compiled, and indexes of versions without minor or patch, are evaluated by a linear
+ * scan. Instances are immutable and may be shared between threads.</p>
+ *
+ * @param <T> indexed value, such as a recipe
+ */
+public final class VersionIndex<T> {
+
+    private final Semver[] versions;
+    private final Object[] values;
+    private final int[] majors;
+    private final int[] minors;
+    private final int[] patches;
+    private final boolean[] prereleases;
+    private final boolean searchable;
+
+    /**
+     * Index values by version. For duplicate versions the last value wins.
+     *
+     * @param values    values to index
+     * @param versionOf version of a value
+     */
+    public VersionIndex(Collection<? extends T> values, Function<? super T, Semver> versionOf) {
+        Map<String, Object[]> byVersion = new HashMap<>(values.size() * 2);
+        for (T value : values) {
+            Semver version = versionOf.apply(value);
+            byVersion.put(version.getValue(), new Object[]{version, value});
+        }
+        List<Object[]> unique = new ArrayList<>(byVersion.values());
+        unique.sort((a, b) -> ((Semver) a[0]).compareTo((Semver) b[0]));
+        int size = unique.size();
+        this.versions = new Semver[size];
+        this.values = new Object[size];
+        this.majors = new int[size];
+        this.minors = new int[size];
+        this.patches = new int[size];
+        this.prereleases = new boolean[size];
+        boolean complete = true;
+        for (int i = 0; i < size; i++) {
+            Semver version = (Semver) unique.get(i)[0];
+            versions[i] = version;
+            this.values[i] = unique.get(i)[1];
+            if (version.getMinor() == null || version.getPatch() == null) {
+                complete = false;
+                continue;
+            }
+            majors[i] = version.getMajor();
+            minors[i] = version.getMinor();
+            patches[i] = version.getPatch();
+            prereleases[i] = version.getSuffixTokens().length > 0;
+        }
+        this.searchable = complete;
+    }
+
+    /**
+     * Index versions.
+     *
+     * @param versions versions to index
+     * @return index
+     */
+    public static VersionIndex<Semver> of(Collection<Semver> versions) {
+        return new VersionIndex<>(versions, Function.identity());
+    }
+
+    /**
+     * Number of distinct versions.
+     *
+     * @return size
+     */
+    public int size() {
+        return versions.length;
+    }
+
+    /**
+     * Indexed versions, lowest first.
+     *
+     * @return versions
+     */
+    public List<Semver> getVersions() {
+        return Collections.unmodifiableList(Arrays.asList(versions));
+    }
+
+    /**
+     * Highest version satisfying a requirement.
+     *
+     * @param requirement requirement
+     * @return value of the highest satisfying version, empty if none
+     */
+    public Optional<T> findHighest(CompiledRequirement requirement) {
+        return findHighest(Collections.singletonList(requirement));
+    }
+
+    /**
+     * Highest version satisfying all requirements. The requirement with the fewest candidate versions drives the
+     * search, the others are only tested on its candidates.
+     *
+     * @param requirements requirements, an empty collection is satisfied by any version
+     * @return value of the highest satisfying version, empty if none
+     */
+    public Optional<T> findHighest(Collection<CompiledRequirement> requirements) {
+        CompiledRequirement[] all = requirements.toArray(new CompiledRequirement[0]);
+        int[] windows = null;
+        if (searchable) {
+            int candidates = Integer.MAX_VALUE;
+            for (CompiledRequirement requirement : all) {
+                if (!requirement.isCompiled()) {
+                    continue;
+                }
+                int[] w = windows(requirement);
+                int count = count(w);
+                if (count < candidates) {
+                    candidates = count;
+                    windows = w;
+                }
+            }
+        }
+        if (windows == null) {
+            windows = new int[]{0, versions.length};
+        }
+        // windows are sorted and disjoint, scan from the top
+        for (int w = windows.length - 2; w >= 0; w -= 2) {
+            for (int i = windows[w + 1] - 1; i >= windows[w]; i--) {
+                if (satisfiesAll(i, all)) {
+                    return Optional.of(value(i));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * All versions satisfying a requirement.
+     *
+     * @param requirement requirement
+     * @return values of satisfying versions, lowest first
+     */
+    public List<T> findAll(CompiledRequirement requirement) {
+        int[] windows = searchable && requirement.isCompiled() ? windows(requirement) : new int[]{0, versions.length};
+        CompiledRequirement[] all = {requirement};
+        List<T> result = new ArrayList<>();
+        for (int w = 0; w < windows.length; w += 2) {
+            for (int i = windows[w]; i < windows[w + 1]; i++) {
+                if (satisfiesAll(i, all)) {
+                    result.add(value(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean satisfiesAll(int index, CompiledRequirement[] requirements) {
+        for (CompiledRequirement requirement : requirements) {
+            boolean satisfied = searchable && requirement.isCompiled()
+                    ? requirement.isSatisfiedBy(versions[index], majors[index], minors[index], patches[index],
+                    prereleases[index])
+                    : requirement.isSatisfiedBy(versions[index]);
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int index) {
+        return (T) values[index];
+    }
+
+    private static int count(int[] windows) {
+        int count = 0;
+        for (int w = 0; w < windows.length; w += 2) {
+            count += windows[w + 1] - windows[w];
+        }
+        return count;
+    }
+
+    /**
+     * Index intervals of the alternatives of a requirement, as sorted, disjoint [start, end) pairs.
+     */
+    private int[] windows(CompiledRequirement requirement) {
+        Interval[] intervals = requirement.getIntervals();
+        int[][] ranges = new int[intervals.length][];
+        for (int i = 0; i < intervals.length; i++) {
+            Comparator lower = intervals[i].getLower();
+            Comparator upper = intervals[i].getUpper();
+            int start = lower == null ? 0 : search(lower, lower.operator == Operator.GT);
+            int end = upper == null ? versions.length : search(upper, upper.operator == Operator.LTE);
+            ranges[i] = new int[]{start, Math.max(start, end)};
+        }
+        Arrays.sort(ranges, (x, y) -> Integer.compare(x[0], y[0]));
+        int[] merged = new int[ranges.length * 2];
+        int size = 0;
+        for (int[] range : ranges) {
+            if (range[0] == range[1]) {
+                continue;
+            }
+            if (size > 0 && range[0] <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], range[1]);
+            } else {
+                merged[size++] = range[0];
+                merged[size++] = range[1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * First index whose version is greater than or equal to (or strictly greater than, if after) the comparator
+     * version.
+     */
+    private int search(Comparator comparator, boolean after) {
+        int low = 0;
+        int high = versions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = comparator.compare(versions[mid], majors[mid], minors[mid], patches[mid], prereleases[mid]);
+            if (c < 0 || after && c == 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
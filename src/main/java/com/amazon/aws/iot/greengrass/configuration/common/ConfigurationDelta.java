@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.amazon.aws.iot.greengrass.component.common.SemverSerializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.vdurmont.semver4j.Semver;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between two deployment {@link Configuration}s, see {@link ConfigurationDiff}. Deployment metadata
+ * (ids, ARNs and timestamp) is always the one of the target configuration. Policies, schema date and required
+ * capabilities are null if unchanged.
+ */
+@Value
+@Builder
+@JsonSerialize
+@JsonDeserialize(builder = ConfigurationDelta.ConfigurationDeltaBuilder.class)
+public class ConfigurationDelta {
+
+    String deploymentId;
+
+    String deploymentName;
+
+    String configurationArn;
+
+    String parentTargetArn;
+
+    String onBehalfOf;
+
+    Long creationTimestamp;
+
+    SchemaDate schemaDate;
+
+    FailureHandlingPolicy failureHandlingPolicy;
+
+    ComponentUpdatePolicy componentUpdatePolicy;
+
+    ConfigurationValidationPolicy configurationValidationPolicy;
+
+    List<String> requiredCapabilities;
+
+    @NonNull
+    @Builder.Default
+    Map<String, ComponentUpdate> addedComponents = Collections.emptyMap();
+
+    /**
+     * Removed components and their version in the base configuration.
+     */
+    @NonNull
+    @Builder.Default
+    @JsonSerialize(contentUsing = SemverSerializer.class)
+    Map<String, Semver> removedComponents = Collections.emptyMap();
+
+    @NonNull
+    @Builder.Default
+    Map<String, ComponentChange> changedComponents = Collections.emptyMap();
+
+    /**
+     * Whether the target configuration deploys the same components with the same policies as the base.
+     *
+     * @return true if only deployment metadata differs
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return schemaDate == null && failureHandlingPolicy == null && componentUpdatePolicy == null
+                && configurationValidationPolicy == null && requiredCapabilities == null && addedComponents.isEmpty()
+                && removedComponents.isEmpty() && changedComponents.isEmpty();
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    public static class ConfigurationDeltaBuilder {
+    }
+
+    /**
+     * Component deployed by both configurations with a different version, configuration update or run-with.
+     */
+    @Value
+    @Builder
+    @JsonSerialize
+    @JsonDeserialize(builder = ComponentChange.ComponentChangeBuilder.class)
+    public static class ComponentChange {
+
+        /**
+         * Version in the base configuration.
+         */
+        @JsonSerialize(using = SemverSerializer.class)
+        Semver previousVersion;
+
+        /**
+         * Component update in the target configuration.
+         */
+        @NonNull
+        ComponentUpdate update;
+
+        boolean versionChanged;
+
+        boolean configurationUpdateChanged;
+
+        boolean runWithChanged;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        public static class ComponentChangeBuilder {
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.ConfigurationDelta.ComponentChange;
+import com.vdurmont.semver4j.Semver;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Computes the {@link ConfigurationDelta} between deployment configurations, and applies a delta to a base
+ * configuration to reconstruct the target.</p>
+ * <p>Component updates which are the same instance are skipped without comparison. Merge documents are compared by
+ * their structural hash first, which each {@link ConfigurationUpdate} computes once and keeps, so only documents
+ * with equal hashes are walked for a full comparison.</p>
+ */
+public final class ConfigurationDiff {
+
+    private ConfigurationDiff() {
+    }
+
+    /**
+     * Compute the changes from a base configuration to a target configuration.
+     *
+     * @param base   currently deployed configuration
+     * @param target new configuration
+     * @return delta such that {@code apply(base, delta)} equals the target
+     */
+    public static ConfigurationDelta diff(@NonNull Configuration base, @NonNull Configuration target) {
+        Map<String, ComponentUpdate> added = new HashMap<>();
+        Map<String, Semver> removed = new HashMap<>();
+        Map<String, ComponentChange> changed = new HashMap<>();
+        for (Map.Entry<String, ComponentUpdate> e : target.getComponents().entrySet()) {
+            ComponentUpdate before = base.getComponents().get(e.getKey());
+            if (before == null) {
+                added.put(e.getKey(), e.getValue());
+                continue;
+            }
+            ComponentChange change = compare(before, e.getValue());
+            if (change != null) {
+                changed.put(e.getKey(), change);
+            }
+        }
+        for (Map.Entry<String, ComponentUpdate> e : base.getComponents().entrySet()) {
+            if (!target.getComponents().containsKey(e.getKey())) {
+                removed.put(e.getKey(), e.getValue().getVersion());
+            }
+        }
+        return ConfigurationDelta.builder()
+                .deploymentId(target.getDeploymentId())
+                .deploymentName(target.getDeploymentName())
+                .configurationArn(target.getConfigurationArn())
+                .parentTargetArn(target.getParentTargetArn())
+                .onBehalfOf(target.getOnBehalfOf())
+                .creationTimestamp(target.getCreationTimestamp())
+                .schemaDate(ifChanged(base.getSchemaDate(), target.getSchemaDate()))
+                .failureHandlingPolicy(ifChanged(base.getFailureHandlingPolicy(), target.getFailureHandlingPolicy()))
+                .componentUpdatePolicy(ifChanged(base.getComponentUpdatePolicy(), target.getComponentUpdatePolicy()))
+                .configurationValidationPolicy(ifChanged(base.getConfigurationValidationPolicy(),
+                        target.getConfigurationValidationPolicy()))
+                .requiredCapabilities(ifChanged(base.getRequiredCapabilities(), target.getRequiredCapabilities()))
+                .addedComponents(added)
+                .removedComponents(removed)
+                .changedComponents(changed)
+                .build();
+    }
+
+    /**
+     * Apply a delta to the configuration it was computed from. Component updates and policies are shared with the
+     * base configuration and the delta, not copied.
+     *
+     * @param base  configuration the delta was computed from
+     * @param delta changes to apply
+     * @return target configuration
+     * @throws IllegalArgumentException if the components of the base configuration don't match the delta
+     */
+    public static Configuration apply(@NonNull Configuration base, @NonNull ConfigurationDelta delta) {
+        Map<String, ComponentUpdate> components = new HashMap<>(base.getComponents());
+        for (Map.Entry<String, Semver> e : delta.getRemovedComponents().entrySet()) {
+            checkBaseVersion(components.remove(e.getKey()), e.getKey(), e.getValue());
+        }
+        for (Map.Entry<String, ComponentChange> e : delta.getChangedComponents().entrySet()) {
+            checkBaseVersion(components.put(e.getKey(), e.getValue().getUpdate()), e.getKey(),
+                    e.getValue().getPreviousVersion());
+        }
+        for (Map.Entry<String, ComponentUpdate> e : delta.getAddedComponents().entrySet()) {
+            if (components.put(e.getKey(), e.getValue()) != null) {
+                throw new IllegalArgumentException(
+                        "Delta adds component " + e.getKey() + " which is already in the base configuration");
+            }
+        }
+        return Configuration.builder()
+                .deploymentId(delta.getDeploymentId())
+                .deploymentName(delta.getDeploymentName())
+                .configurationArn(delta.getConfigurationArn())
+                .parentTargetArn(delta.getParentTargetArn())
+                .onBehalfOf(delta.getOnBehalfOf())
+                .creationTimestamp(delta.getCreationTimestamp())
+                .schemaDate(orElse(delta.getSchemaDate(), base.getSchemaDate()))
+                .failureHandlingPolicy(orElse(delta.getFailureHandlingPolicy(), base.getFailureHandlingPolicy()))
+                .componentUpdatePolicy(orElse(delta.getComponentUpdatePolicy(), base.getComponentUpdatePolicy()))
+                .configurationValidationPolicy(orElse(delta.getConfigurationValidationPolicy(),
+                        base.getConfigurationValidationPolicy()))
+                .requiredCapabilities(new ArrayList<>(orElse(delta.getRequiredCapabilities(),
+                        base.getRequiredCapabilities())))
+                .components(components)
+                .build();
+    }
+
+    private static void checkBaseVersion(ComponentUpdate current, String name, Semver expected) {
+        if (current == null) {
+            throw new IllegalArgumentException(
+                    "Delta changes component " + name + " which is not in the base configuration");
+        }
+        if (!Objects.equals(current.getVersion(), expected)) {
+            throw new IllegalArgumentException("Delta expects component " + name + " at version " + expected
+                    + " but the base configuration has " + current.getVersion());
+        }
+    }
+
+    private static ComponentChange compare(ComponentUpdate before, ComponentUpdate after) {
+        if (before == after) {
+            return null;
+        }
+        boolean versionChanged = !Objects.equals(before.getVersion(), after.getVersion());
+        boolean configurationUpdateChanged =
+                !Objects.equals(before.getConfigurationUpdate(), after.getConfigurationUpdate());
+        boolean runWithChanged = !Objects.equals(before.getRunWith(), after.getRunWith());
+        if (!versionChanged && !configurationUpdateChanged && !runWithChanged) {
+            return null;
+        }
+        return ComponentChange.builder()
+                .previousVersion(before.getVersion())
+                .update(after)
+                .versionChanged(versionChanged)
+                .configurationUpdateChanged(configurationUpdateChanged)
+                .runWithChanged(runWithChanged)
+                .build();
+    }
+
+    private static <T> T ifChanged(T before, T after) {
+        return Objects.equals(before, after) ? null : after;
+    }
+
+    private static <T> T orElse(T value, T fallback) {
+        return value == null ? fallback : value;
+    }
+}
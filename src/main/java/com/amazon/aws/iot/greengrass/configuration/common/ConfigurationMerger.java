@@ -0,0 +1,350 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>Applies a {@link ConfigurationUpdate} onto a component configuration, held either as an {@link ObjectNode} or as
+ * nested {@link Map}s. The reset pointers are applied first: each value is restored from the default configuration,
+ * or removed if it has no default. The merge document is then merged in: objects are merged member by member, any
+ * other value replaces the current one.</p>
+ * <p>The merge document is read as a token stream and never built as a whole, so besides the values it adds to
+ * the target, memory use is bounded by the nesting depth of the document. This suits large merge documents (see
+ * {@link DeploymentCapability#LARGE_CONFIGURATION}) read straight from a deployment document.</p>
+ * <p>Reset pointers are compiled to {@link ResetPaths}, which drops pointers under other reset pointers. Without a
+ * default configuration they are removed in a single walk of the reset trie. Arrays are values: a pointer into an
+ * array, in the configuration or in the defaults, changes nothing. Reset the array itself instead.</p>
+ * <p>Each method returns the JSON pointers of the values that changed: reset pointers that changed a value, and for
+ * the merge the deepest member whose value changed.</p>
+ */
+public final class ConfigurationMerger {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ConfigurationMerger() {
+    }
+
+    /**
+     * Apply a configuration update whose merge document is already a tree.
+     *
+     * @param update   configuration update
+     * @param defaults default configuration restored by reset, may be null
+     * @param target   configuration to update in place
+     * @return pointers of changed values, in the order they changed
+     * @throws IOException if the merge document is not an object
+     */
+    public static Set<String> apply(@NonNull ConfigurationUpdate update, JsonNode defaults, @NonNull ObjectNode target)
+            throws IOException {
+        JsonNode merge = update.getMerge();
+        try (JsonParser parser = merge == null ? null : merge.traverse(MAPPER)) {
+            return apply(parser, update.getCompiledReset(), defaults, target, TreeAccess.INSTANCE);
+        }
+    }
+
+    /**
+     * Apply a streamed merge document and reset pointers to a tree.
+     *
+     * @param merge    parser on the merge document, positioned before or on its first token. Not closed. May be null
+     *                 if there is nothing to merge.
+     * @param reset    JSON pointers to reset, may be null
+     * @param defaults default configuration restored by reset, may be null
+     * @param target   configuration to update in place
+     * @return pointers of changed values, in the order they changed
+     * @throws IOException if the merge document can't be read or is not an object
+     */
+    public static Set<String> apply(JsonParser merge, List<String> reset, JsonNode defaults,
+                                    @NonNull ObjectNode target) throws IOException {
+        return apply(merge, ResetPaths.compile(reset), defaults, target, TreeAccess.INSTANCE);
+    }
+
+    /**
+     * Apply a streamed merge document and reset pointers to nested maps. Values are read the way
+     * {@code ObjectMapper.readValue(parser, Object.class)} reads them: maps, lists, strings, numbers and booleans.
+     *
+     * @param merge    parser on the merge document, positioned before or on its first token. Not closed. May be null
+     *                 if there is nothing to merge.
+     * @param reset    JSON pointers to reset, may be null
+     * @param defaults default configuration restored by reset, may be null
+     * @param target   configuration to update in place
+     * @return pointers of changed values, in the order they changed
+     * @throws IOException if the merge document can't be read or is not an object
+     */
+    public static Set<String> apply(JsonParser merge, List<String> reset, JsonNode defaults,
+                                    @NonNull Map<String, Object> target) throws IOException {
+        return apply(merge, ResetPaths.compile(reset), defaults, target, MapAccess.INSTANCE);
+    }
+
+    private static Set<String> apply(JsonParser merge, ResetPaths reset, JsonNode defaults, Object target,
+                                     Access access) throws IOException {
+        Set<String> changed;
+        if (defaults == null) {
+            changed = access.removeAll(reset, target);
+        } else {
+            changed = new LinkedHashSet<>();
+            for (JsonPointer pointer : reset.getPointers()) {
+                if (reset(pointer, defaults, target, access)) {
+                    changed.add(pointer.toString());
+                }
+            }
+        }
+        if (merge != null) {
+            JsonToken token = merge.currentToken() == null ? merge.nextToken() : merge.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                mergeObject(merge, target, new StringBuilder(), changed, access);
+            } else if (token != null && token != JsonToken.VALUE_NULL) {
+                throw JsonMappingException.from(merge, "Configuration merge must be an object, found " + token);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Merge the object at the current START_OBJECT token into a container. Returns on the matching END_OBJECT.
+     */
+    private static void mergeObject(JsonParser parser, Object container, StringBuilder path, Set<String> changed,
+                                    Access access) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            int length = path.length();
+            appendSegment(path, name);
+            Object existing = access.get(container, name);
+            if (token == JsonToken.START_OBJECT && access.isObject(existing)) {
+                mergeObject(parser, existing, path, changed, access);
+            } else if (access.put(container, name, access.read(parser))) {
+                changed.add(path.toString());
+            }
+            path.setLength(length);
+        }
+    }
+
+    private static boolean reset(JsonPointer pointer, JsonNode defaults, Object target, Access access) {
+        JsonNode value = defaults.at(pointer);
+        boolean hasDefault = !value.isMissingNode();
+        if (pointer.matches()) {
+            // the whole configuration
+            boolean changed = access.clear(target);
+            if (hasDefault && value.isObject()) {
+                for (Map.Entry<String, JsonNode> e : (Iterable<Map.Entry<String, JsonNode>>) value::fields) {
+                    changed |= access.put(target, e.getKey(), access.copy(e.getValue()));
+                }
+            }
+            return changed;
+        }
+        Object parent = target;
+        JsonNode defaultParent = defaults;
+        for (JsonPointer p = pointer; p.tail() != null && !p.tail().matches(); p = p.tail()) {
+            Object child = access.get(parent, p.getMatchingProperty());
+            defaultParent = defaultParent.path(p.getMatchingProperty());
+            if (access.isArray(child) || defaultParent.isArray()) {
+                // pointer into an array, left alone
+                return false;
+            }
+            if (!access.isObject(child)) {
+                if (!hasDefault) {
+                    // nothing to remove
+                    return false;
+                }
+                child = access.newObject();
+                access.put(parent, p.getMatchingProperty(), child);
+            }
+            parent = child;
+        }
+        String name = pointer.last().getMatchingProperty();
+        return hasDefault ? access.put(parent, name, access.copy(value)) : access.remove(parent, name);
+    }
+
+    private static void appendSegment(StringBuilder path, String name) {
+        path.append('/');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '~') {
+                path.append("~0");
+            } else if (c == '/') {
+                path.append("~1");
+            } else {
+                path.append(c);
+            }
+        }
+    }
+
+    /**
+     * Operations on the containers of one kind of configuration representation.
+     */
+    private interface Access {
+        Object get(Object container, String name);
+
+        boolean isObject(Object value);
+
+        boolean isArray(Object value);
+
+        Object newObject();
+
+        /**
+         * Read the value at the current token.
+         */
+        Object read(JsonParser parser) throws IOException;
+
+        Object copy(JsonNode value);
+
+        /**
+         * Set a member, returning whether its value changed.
+         */
+        boolean put(Object container, String name, Object value);
+
+        boolean remove(Object container, String name);
+
+        boolean clear(Object container);
+
+        /**
+         * Remove all reset values, returning their pointers.
+         */
+        Set<String> removeAll(ResetPaths reset, Object container);
+    }
+
+    private static final class TreeAccess implements Access {
+        static final TreeAccess INSTANCE = new TreeAccess();
+
+        @Override
+        public Object get(Object container, String name) {
+            return ((ObjectNode) container).get(name);
+        }
+
+        @Override
+        public boolean isObject(Object value) {
+            return value instanceof ObjectNode;
+        }
+
+        @Override
+        public boolean isArray(Object value) {
+            return value instanceof ArrayNode;
+        }
+
+        @Override
+        public Object newObject() {
+            return MAPPER.createObjectNode();
+        }
+
+        @Override
+        public Object read(JsonParser parser) throws IOException {
+            JsonNode value = MAPPER.readTree(parser);
+            return value == null ? NullNode.getInstance() : value;
+        }
+
+        @Override
+        public Object copy(JsonNode value) {
+            return value.deepCopy();
+        }
+
+        @Override
+        public boolean put(Object container, String name, Object value) {
+            JsonNode previous = ((ObjectNode) container).replace(name, (JsonNode) value);
+            return previous == null || !previous.equals(value);
+        }
+
+        @Override
+        public boolean remove(Object container, String name) {
+            return ((ObjectNode) container).remove(name) != null;
+        }
+
+        @Override
+        public boolean clear(Object container) {
+            ObjectNode node = (ObjectNode) container;
+            boolean changed = node.size() > 0;
+            node.removeAll();
+            return changed;
+        }
+
+        @Override
+        public Set<String> removeAll(ResetPaths reset, Object container) {
+            return reset.removeFrom((ObjectNode) container);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class MapAccess implements Access {
+        static final MapAccess INSTANCE = new MapAccess();
+
+        @Override
+        public Object get(Object container, String name) {
+            return ((Map<String, Object>) container).get(name);
+        }
+
+        @Override
+        public boolean isObject(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        public boolean isArray(Object value) {
+            return value instanceof List;
+        }
+
+        @Override
+        public Object newObject() {
+            return new LinkedHashMap<String, Object>();
+        }
+
+        @Override
+        public Object read(JsonParser parser) throws IOException {
+            return MAPPER.readValue(parser, Object.class);
+        }
+
+        @Override
+        public Object copy(JsonNode value) {
+            return MAPPER.convertValue(value, Object.class);
+        }
+
+        @Override
+        public boolean put(Object container, String name, Object value) {
+            Map<String, Object> map = (Map<String, Object>) container;
+            boolean existed = map.containsKey(name);
+            Object previous = map.put(name, value);
+            return !existed || !Objects.equals(previous, value);
+        }
+
+        @Override
+        public boolean remove(Object container, String name) {
+            Map<String, Object> map = (Map<String, Object>) container;
+            if (!map.containsKey(name)) {
+                return false;
+            }
+            map.remove(name);
+            return true;
+        }
+
+        @Override
+        public boolean clear(Object container) {
+            Map<String, Object> map = (Map<String, Object>) container;
+            boolean changed = !map.isEmpty();
+            map.clear();
+            return changed;
+        }
+
+        @Override
+        public Set<String> removeAll(ResetPaths reset, Object container) {
+            return reset.removeFrom((Map<String, Object>) container);
+        }
+    }
+}
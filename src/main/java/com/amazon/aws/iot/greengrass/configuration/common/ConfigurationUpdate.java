@@ -5,21 +5,30 @@
 
 package com.amazon.aws.iot.greengrass.configuration.common;
 
+import com.amazon.aws.iot.greengrass.component.common.JsonStructuralHash;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * Configuration update of a component. Hashing uses the structural hash of the merge document (see
+ * {@link JsonStructuralHash}), so the hash code doesn't depend on whether the document was read from JSON, YAML or a
+ * binary format. It isn't kept, the document can be changed in place.
+ */
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 @JsonDeserialize(builder = ConfigurationUpdate.ConfigurationUpdateBuilder.class)
 @JsonSerialize
 public class ConfigurationUpdate {
@@ -28,7 +37,63 @@ public class ConfigurationUpdate {
 
     private List<String> reset;
 
+    // reset compiled on first use. Cleared by setReset, but not by changes made inside the list.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient volatile ResetPaths resetPaths;
+
+    @Builder
+    public ConfigurationUpdate(JsonNode merge, List<String> reset) {
+        this.merge = merge;
+        this.reset = reset;
+    }
+
+    public void setReset(List<String> reset) {
+        this.reset = reset;
+        this.resetPaths = null;
+    }
+
+    /**
+     * Reset pointers compiled to a trie, computed on first use. Changes made inside the reset list after it was
+     * compiled are not reflected, replace the list with {@link #setReset(List)} instead.
+     *
+     * @return compiled reset paths
+     * @throws IllegalArgumentException if a reset pointer is not a valid JSON pointer
+     */
+    @JsonIgnore
+    public ResetPaths getCompiledReset() {
+        ResetPaths paths = resetPaths;
+        if (paths == null) {
+            paths = ResetPaths.compile(reset);
+            resetPaths = paths;
+        }
+        return paths;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof ConfigurationUpdate)) {
+            return false;
+        }
+        ConfigurationUpdate other = (ConfigurationUpdate) o;
+        return other.canEqual(this) && Objects.equals(reset, other.reset) && Objects.equals(merge, other.merge);
+    }
+
+    protected boolean canEqual(Object other) {
+        return other instanceof ConfigurationUpdate;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 59 + JsonStructuralHash.hash(merge);
+        return result * 59 + (reset == null ? 43 : reset.hashCode());
+    }
+
     @JsonPOJOBuilder(withPrefix = "")
     public static class ConfigurationUpdateBuilder {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Reset JSON pointers of a {@link ConfigurationUpdate} compiled to a trie of pointer segments. Resetting a path
+ * resets everything under it, so pointers under another reset pointer, and duplicates, are dropped when compiling.</p>
+ * <p>Checking whether a path is reset walks at most one trie node per segment of the path, and removing the reset
+ * values from a configuration visits only the members on reset paths.</p>
+ */
+public final class ResetPaths {
+
+    public static final ResetPaths NONE = new ResetPaths(new Node(), Collections.emptyList());
+
+    private final Node root;
+
+    private final List<JsonPointer> pointers;
+
+    private ResetPaths(Node root, List<JsonPointer> pointers) {
+        this.root = root;
+        this.pointers = pointers;
+    }
+
+    /**
+     * Compile reset pointers.
+     *
+     * @param reset JSON pointers, may be null
+     * @return compiled reset paths
+     * @throws IllegalArgumentException if a pointer is not a valid JSON pointer
+     */
+    public static ResetPaths compile(List<String> reset) {
+        if (reset == null || reset.isEmpty()) {
+            return NONE;
+        }
+        List<JsonPointer> compiled = new ArrayList<>(reset.size());
+        Node root = new Node();
+        for (String pointer : reset) {
+            JsonPointer p = JsonPointer.compile(pointer);
+            compiled.add(p);
+            Node node = root;
+            for (; !p.matches() && !node.reset; p = p.tail()) {
+                node = node.child(p.getMatchingProperty());
+            }
+            if (!node.reset) {
+                node.reset = true;
+                // everything below is reset too
+                node.children = null;
+            }
+        }
+        // keep the pointers that ended up as reset nodes, in the order given
+        List<JsonPointer> pointers = new ArrayList<>(compiled.size());
+        Set<Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (JsonPointer pointer : compiled) {
+            Node node = root;
+            JsonPointer p = pointer;
+            for (; !p.matches() && !node.reset; p = p.tail()) {
+                node = node.children.get(p.getMatchingProperty());
+            }
+            if (p.matches() && seen.add(node)) {
+                node.pointer = pointer.toString();
+                pointers.add(pointer);
+            }
+        }
+        return new ResetPaths(root, Collections.unmodifiableList(pointers));
+    }
+
+    /**
+     * Reset pointers without duplicates and pointers under other reset pointers, in the order given.
+     *
+     * @return compiled pointers
+     */
+    public List<JsonPointer> getPointers() {
+        return pointers;
+    }
+
+    public boolean isEmpty() {
+        return pointers.isEmpty();
+    }
+
+    /**
+     * Whether a path is reset, either itself or through one of its parents.
+     *
+     * @param path JSON pointer of a configuration value
+     * @return true if reset
+     */
+    public boolean isReset(@NonNull JsonPointer path) {
+        Node node = root;
+        for (JsonPointer p = path; !node.reset; p = p.tail()) {
+            if (p.matches()) {
+                return false;
+            }
+            node = node.children == null ? null : node.children.get(p.getMatchingProperty());
+            if (node == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a path is reset, either itself or through one of its parents.
+     *
+     * @param path JSON pointer of a configuration value
+     * @return true if reset
+     * @throws IllegalArgumentException if the path is not a valid JSON pointer
+     */
+    public boolean isReset(@NonNull String path) {
+        return isReset(JsonPointer.compile(path));
+    }
+
+    /**
+     * Remove all reset values from a configuration tree. Arrays are treated as values, pointers into arrays don't
+     * remove anything.
+     *
+     * @param target configuration to update in place
+     * @return pointers of the removed values
+     */
+    public Set<String> removeFrom(@NonNull ObjectNode target) {
+        Set<String> removed = new LinkedHashSet<>();
+        if (root.reset) {
+            if (target.size() > 0) {
+                target.removeAll();
+                removed.add(root.pointer);
+            }
+        } else if (root.children != null) {
+            removeFrom(root, target, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all reset values from a configuration held as nested maps. Lists are treated as values, pointers into
+     * lists don't remove anything.
+     *
+     * @param target configuration to update in place
+     * @return pointers of the removed values
+     */
+    public Set<String> removeFrom(@NonNull Map<String, Object> target) {
+        Set<String> removed = new LinkedHashSet<>();
+        if (root.reset) {
+            if (!target.isEmpty()) {
+                target.clear();
+                removed.add(root.pointer);
+            }
+        } else if (root.children != null) {
+            removeFrom(root, target, removed);
+        }
+        return removed;
+    }
+
+    private static void removeFrom(Node node, ObjectNode container, Set<String> removed) {
+        for (Map.Entry<String, Node> e : node.children.entrySet()) {
+            Node child = e.getValue();
+            if (child.reset) {
+                if (container.remove(e.getKey()) != null) {
+                    removed.add(child.pointer);
+                }
+            } else {
+                JsonNode value = container.get(e.getKey());
+                if (value instanceof ObjectNode) {
+                    removeFrom(child, (ObjectNode) value, removed);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void removeFrom(Node node, Map<String, Object> container, Set<String> removed) {
+        for (Map.Entry<String, Node> e : node.children.entrySet()) {
+            Node child = e.getValue();
+            if (child.reset) {
+                if (container.containsKey(e.getKey())) {
+                    container.remove(e.getKey());
+                    removed.add(child.pointer);
+                }
+            } else {
+                Object value = container.get(e.getKey());
+                if (value instanceof Map) {
+                    removeFrom(child, (Map<String, Object>) value, removed);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pointers.toString();
+    }
+
+    private static final class Node {
+        // null for reset nodes, which have no children
+        Map<String, Node> children;
+
+        boolean reset;
+
+        // pointer as given, set on reset nodes
+        String pointer;
+
+        Node child(String segment) {
+            if (children == null) {
+                children = new LinkedHashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+    }
+}
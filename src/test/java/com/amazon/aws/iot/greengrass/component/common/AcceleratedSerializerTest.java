@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceleratedSerializerTest extends BaseRecipeTest {
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_9) // Blackbird needs Java 9, Java 8 falls back to reflection
+    void GIVEN_accelerator_on_classpath_WHEN_get_accelerated_mappers_THEN_module_registered_only_there() {
+        assertNotNull(SerializerFactory.getAcceleratorModuleName());
+        assertNotSame(SerializerFactory.getRecipeSerializer(), SerializerFactory.getAcceleratedRecipeSerializer());
+        assertTrue(SerializerFactory.getAcceleratedRecipeSerializerJson().getRegisteredModuleIds()
+                .contains(SerializerFactory.getAcceleratorModuleName()));
+        for (Object id : SerializerFactory.getRecipeSerializerJson().getRegisteredModuleIds()) {
+            assertFalse(id.equals(SerializerFactory.getAcceleratorModuleName()),
+                    "Default mapper must not use generated accessors");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.yaml",
+            "b1-recipe-with-all-fields.yaml",
+            "wrapper-component-recipe.yaml"
+    })
+    void GIVEN_yaml_recipe_WHEN_accelerated_round_trip_THEN_identical_to_reflection(String fileName)
+            throws IOException {
+        byte[] recipeBytes = Files.readAllBytes(getResourcePath(fileName));
+
+        assertParity(SerializerFactory.getRecipeSerializer(), SerializerFactory.getAcceleratedRecipeSerializer(),
+                recipeBytes, ComponentRecipe.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.json",
+            "b2-recipe-with-all-fields.json",
+            "wrapper-component-recipe.json"
+    })
+    void GIVEN_json_recipe_WHEN_accelerated_round_trip_THEN_identical_to_reflection(String fileName)
+            throws IOException {
+        byte[] recipeBytes = Files.readAllBytes(getResourcePath(fileName));
+
+        assertParity(SerializerFactory.getRecipeSerializerJson(),
+                SerializerFactory.getAcceleratedRecipeSerializerJson(), recipeBytes, ComponentRecipe.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "configuration-1-redeploy.json",
+            "configuration-1-component-replace.json",
+            "configuration-1-with-required-capabilities.json",
+            "configuration-2-component-replace.json"
+    })
+    void GIVEN_configuration_WHEN_accelerated_round_trip_THEN_identical_to_reflection(String fileName)
+            throws Exception {
+        Path path = Paths.get(getClass().getClassLoader().getResource("configurations").toURI()).resolve(fileName);
+
+        assertParity(SerializerFactory.getConfigurationSerializerJson(),
+                SerializerFactory.getAcceleratedConfigurationSerializerJson(), Files.readAllBytes(path),
+                Configuration.class);
+    }
+
+    private static <T> void assertParity(ObjectMapper reflection, ObjectMapper accelerated, byte[] input,
+                                         Class<T> type) throws IOException {
+        T expected = reflection.readValue(input, type);
+        T actual = accelerated.readValue(input, type);
+        assertEquals(expected, actual);
+        assertArrayEquals(reflection.writeValueAsBytes(expected), accelerated.writeValueAsBytes(actual));
+    }
+}
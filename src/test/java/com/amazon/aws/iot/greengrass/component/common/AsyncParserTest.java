@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncParserTest extends BaseRecipeTest {
+
+    @Test
+    void GIVEN_recipes_WHEN_parsed_async_THEN_same_as_mapper() throws IOException {
+        Path yaml = getResourcePath("sample-recipe-with-all-fields.yaml");
+        Path json = getResourcePath("sample-recipe-with-all-fields.json");
+        AsyncParser parser = AsyncParser.create();
+
+        assertEquals(DESERIALIZER_YAML.readValue(yaml.toFile(), ComponentRecipe.class),
+                parser.parseRecipeAsync(Files.newInputStream(yaml)).join());
+        assertEquals(DESERIALIZER_JSON.readValue(json.toFile(), ComponentRecipe.class),
+                parser.parseRecipeAsync(Files.readAllBytes(json)).join());
+    }
+
+    @Test
+    void GIVEN_configuration_WHEN_parsed_async_THEN_same_as_mapper() throws Exception {
+        Path path = Paths.get(getClass().getClassLoader().getResource("configurations").toURI())
+                .resolve("configuration-1-component-replace.json");
+        byte[] json = Files.readAllBytes(path);
+        Configuration expected =
+                SerializerFactory.getConfigurationSerializerJson().readValue(json, Configuration.class);
+        AsyncParser parser = AsyncParser.create();
+
+        assertEquals(expected, parser.parseConfigurationAsync(json).join());
+        assertEquals(expected, parser.parseConfigurationAsync(new ByteArrayInputStream(json)).join());
+    }
+
+    @Test
+    void GIVEN_many_concurrent_parses_WHEN_joined_THEN_all_same_as_mapper() throws IOException {
+        byte[] yaml = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.yaml"));
+        byte[] json = Files.readAllBytes(getResourcePath("b2-recipe-with-all-fields.json"));
+        ComponentRecipe expectedYaml = DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class);
+        ComponentRecipe expectedJson = DESERIALIZER_JSON.readValue(json, ComponentRecipe.class);
+        AsyncParser parser = AsyncParser.create();
+
+        List<CompletableFuture<ComponentRecipe>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(parser.parseRecipeAsync(i % 2 == 0 ? yaml : json));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i % 2 == 0 ? expectedYaml : expectedJson, futures.get(i).join());
+        }
+    }
+
+    @Test
+    void GIVEN_invalid_recipe_WHEN_parsed_async_THEN_completes_with_parse_error() {
+        byte[] recipe = ("---\nRecipeFormatVersion: '2020-01-25'\nComponentName: com.example.HelloWorld\n"
+                + "ComponentVersion: 1.0.0\nUnknownField: true\n").getBytes(StandardCharsets.UTF_8);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> AsyncParser.create().parseRecipeAsync(recipe).join());
+
+        assertTrue(e.getCause() instanceof JsonMappingException);
+    }
+
+    @Test
+    void GIVEN_executor_WHEN_parsed_async_THEN_runs_on_executor() throws IOException {
+        byte[] yaml = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.yaml"));
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+
+        ComponentRecipe recipe = AsyncParser.create(executor).parseRecipeAsync(yaml).join();
+
+        assertEquals(1, tasks.get());
+        assertEquals(DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class), recipe);
+    }
+}
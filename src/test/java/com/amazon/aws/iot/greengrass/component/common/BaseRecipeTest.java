@@ -9,6 +9,8 @@ import com.amazon.aws.iot.greengrass.configuration.common.BaseConfigurationTest;
 import com.amazon.aws.iot.greengrass.test.exception.MissingTestDataException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -27,4 +29,20 @@ public class BaseRecipeTest {
             throw new MissingTestDataException(RECIPES_RESOURCE_PATH, e);
         }
     }
+
+    /**
+     * In-memory stream remembering whether it was closed.
+     */
+    static class CloseTrackingInputStream extends ByteArrayInputStream {
+        boolean closed;
+
+        CloseTrackingInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
 }
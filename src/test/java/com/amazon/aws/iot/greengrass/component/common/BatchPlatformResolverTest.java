@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BatchPlatformResolverTest {
+
+    private static final String[] OSES = {"linux", "windows", "darwin", "freebsd"};
+    private static final String[] ARCHES = {"amd64", "aarch64", "arm", "x86"};
+
+    @Test
+    void GIVEN_recipes_and_platforms_WHEN_resolve_THEN_same_result_as_findBestMatch() {
+        List<ComponentRecipe> recipes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            recipes.add(recipe("Component" + i, Arrays.asList(
+                    PlatformBuilder.of().add("os", OSES[i % OSES.length]).add("architecture", "/amd64|aarch64/")
+                            .manifest(),
+                    PlatformBuilder.of().add("os", "all").add("architecture", ARCHES[i % ARCHES.length]).manifest(),
+                    PlatformBuilder.of().add("os", OSES[(i + 1) % OSES.length]).manifest())));
+        }
+        List<Map<String, String>> platforms = new ArrayList<>();
+        for (String os : OSES) {
+            for (String arch : ARCHES) {
+                platforms.add(PlatformBuilder.of().add("os", os).add("architecture", arch).reference());
+            }
+        }
+
+        PlatformResolutionMatrix matrix = BatchPlatformResolver.resolve(platforms, recipes, new ForkJoinPool(4));
+
+        assertEquals(recipes.size(), matrix.getRecipes().size());
+        assertEquals(platforms.size(), matrix.getPlatforms().size());
+        for (int r = 0; r < recipes.size(); r++) {
+            for (int p = 0; p < platforms.size(); p++) {
+                assertEquals(PlatformHelper.findBestMatch(platforms.get(p), recipes.get(r).getManifests()),
+                        matrix.findBestMatch(r, p));
+            }
+        }
+    }
+
+    @Test
+    void GIVEN_duplicate_platforms_WHEN_resolve_THEN_platforms_deduplicated() {
+        Map<String, String> linux = PlatformBuilder.of().add("os", "linux").reference();
+        Map<String, String> linuxAgain = PlatformBuilder.of().add("os", "linux").reference();
+        Map<String, String> windows = PlatformBuilder.of().add("os", "windows").reference();
+        ComponentRecipe recipe = recipe("Component", Collections.singletonList(
+                PlatformBuilder.of().add("os", "linux").manifest()));
+
+        PlatformResolutionMatrix matrix = BatchPlatformResolver.resolve(Arrays.asList(linux, windows, linuxAgain),
+                Collections.singletonList(recipe));
+
+        assertEquals(2, matrix.getPlatforms().size());
+        assertEquals(0, matrix.indexOfPlatform(linuxAgain));
+        assertEquals(1, matrix.indexOfPlatform(windows));
+        assertEquals(-1, matrix.indexOfPlatform(PlatformBuilder.of().add("os", "darwin").reference()));
+        assertEquals(0, matrix.getMatchIndex(0, matrix.indexOfPlatform(linux)));
+        assertFalse(matrix.findBestMatch(0, matrix.indexOfPlatform(windows)).isPresent());
+    }
+
+    private static ComponentRecipe recipe(String name, List<PlatformSpecificManifest> manifests) {
+        return ComponentRecipe.builder()
+                .recipeFormatVersion(RecipeFormatVersion.JAN_25_2020)
+                .componentName(name)
+                .componentVersion(new Semver("1.0.0"))
+                .manifests(manifests)
+                .build();
+    }
+}
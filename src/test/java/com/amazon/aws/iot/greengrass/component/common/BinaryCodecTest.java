@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryCodecTest extends BaseRecipeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.yaml",
+            "b1-recipe-with-all-fields.yaml",
+            "wrapper-component-recipe.yaml"
+    })
+    void GIVEN_recipe_WHEN_binary_round_trip_THEN_unchanged_and_smaller(String fileName) throws IOException {
+        byte[] yaml = Files.readAllBytes(getResourcePath(fileName));
+        ComponentRecipe recipe = DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class);
+
+        byte[] binary = BinaryCodec.writeRecipe(recipe);
+
+        BinaryCodec.Header header = BinaryCodec.readHeader(binary).get();
+        assertEquals(BinaryCodec.DocumentType.RECIPE, header.getDocumentType());
+        assertEquals("2020-01-25", header.getSchemaVersion());
+        assertEquals(recipe, BinaryCodec.readRecipe(binary));
+        assertTrue(binary.length < DESERIALIZER_JSON.writeValueAsBytes(recipe).length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "configuration-1-redeploy.json",
+            "configuration-1-component-replace.json",
+            "configuration-1-with-required-capabilities.json",
+            "configuration-2-component-replace.json"
+    })
+    void GIVEN_configuration_WHEN_binary_round_trip_THEN_unchanged(String fileName) throws Exception {
+        Path path = Paths.get(getClass().getClassLoader().getResource("configurations").toURI()).resolve(fileName);
+        byte[] json = Files.readAllBytes(path);
+        Configuration configuration =
+                SerializerFactory.getConfigurationSerializerJson().readValue(json, Configuration.class);
+
+        byte[] binary = BinaryCodec.writeConfiguration(configuration);
+
+        BinaryCodec.Header header = BinaryCodec.readHeader(binary).get();
+        assertEquals(BinaryCodec.DocumentType.CONFIGURATION, header.getDocumentType());
+        assertEquals("2021-05-17", header.getSchemaVersion());
+        assertEquals(configuration, BinaryCodec.readConfiguration(binary));
+        // text documents are detected and read with the JSON mapper
+        assertEquals(configuration, BinaryCodec.readConfiguration(json));
+    }
+
+    @Test
+    void GIVEN_text_recipe_WHEN_read_THEN_detected_as_not_binary() throws IOException {
+        byte[] yaml = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.yaml"));
+        byte[] json = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.json"));
+
+        assertFalse(BinaryCodec.readHeader(yaml).isPresent());
+        assertFalse(BinaryCodec.readHeader(json).isPresent());
+        assertEquals(DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class), BinaryCodec.readRecipe(yaml));
+        assertEquals(DESERIALIZER_JSON.readValue(json, ComponentRecipe.class), BinaryCodec.readRecipe(json));
+    }
+
+    @Test
+    void GIVEN_binary_recipe_WHEN_read_as_configuration_THEN_throws() throws IOException {
+        byte[] binary = BinaryCodec.writeRecipe(DESERIALIZER_YAML.readValue(
+                getResourcePath("sample-recipe-with-all-fields.yaml").toFile(), ComponentRecipe.class));
+
+        assertThrows(IOException.class, () -> BinaryCodec.readConfiguration(binary));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledManifestMatcherTest {
+
+    private static final List<PlatformSpecificManifest> MANIFESTS = Arrays.asList(
+            PlatformBuilder.of().add("os", "windows").add("architecture", "amd64").manifest(),
+            PlatformBuilder.of().add("os", "/linux|darwin/").add("architecture", "aarch64").manifest(),
+            PlatformBuilder.of().add("os", "all").add("architecture", "arm").manifest(),
+            PlatformBuilder.of().add("os", "linux").add("runtime", "$special").manifest(),
+            PlatformBuilder.of().add("os", "*").add("another", "foo").manifest(),
+            PlatformBuilder.of().add("architecture", "x86").manifest(),
+            PlatformSpecificManifest.builder().platform(null).build());
+
+    private static final List<Map<String, String>> TARGETS = Arrays.asList(
+            PlatformBuilder.of().add("os", "windows").add("architecture", "amd64").reference(),
+            PlatformBuilder.of().add("os", "darwin").add("architecture", "aarch64").reference(),
+            PlatformBuilder.of().add("os", "linux").add("architecture", "arm").reference(),
+            PlatformBuilder.of().add("os", "linux").add("runtime", "$special").reference(),
+            PlatformBuilder.of().add("os", "").add("another", "foo").reference(),
+            PlatformBuilder.of().add("architecture", "x86").reference(),
+            PlatformBuilder.of().add("os", "freebsd").reference(),
+            PlatformBuilder.of().reference());
+
+    @Test
+    void GIVEN_manifests_WHEN_compiled_THEN_same_match_as_platform_helper() {
+        CompiledManifestMatcher matcher = CompiledManifestMatcher.compile(MANIFESTS);
+        assertEquals(MANIFESTS.size(), matcher.size());
+
+        for (Map<String, String> target : TARGETS) {
+            assertEquals(PlatformHelper.findBestMatch(target, MANIFESTS), matcher.findBestMatch(target),
+                    "Mismatch for platform " + target);
+        }
+    }
+
+    @Test
+    void GIVEN_manifests_WHEN_findBestMatchIndex_THEN_index_of_first_match_returned() {
+        CompiledManifestMatcher matcher = CompiledManifestMatcher.compile(MANIFESTS);
+
+        assertEquals(1, matcher.findBestMatchIndex(TARGETS.get(1)));
+        assertEquals(2, matcher.findBestMatchIndex(TARGETS.get(2)));
+        // special labels are rejected, falls through to the wildcard manifest
+        assertEquals(6, matcher.findBestMatchIndex(TARGETS.get(3)));
+
+        CompiledManifestMatcher noWildcard = CompiledManifestMatcher.compile(MANIFESTS.subList(0, 2));
+        assertEquals(-1, noWildcard.findBestMatchIndex(TARGETS.get(2)));
+        assertFalse(noWildcard.findBestMatch(TARGETS.get(2)).isPresent());
+    }
+
+    @Test
+    void GIVEN_no_manifests_WHEN_compiled_THEN_no_match() {
+        CompiledManifestMatcher matcher = CompiledManifestMatcher.compile(Collections.emptyList());
+
+        Optional<PlatformSpecificManifest> result = matcher.findBestMatch(TARGETS.get(0));
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void GIVEN_invalid_regex_template_WHEN_matched_THEN_error_only_raised_when_evaluated() {
+        List<PlatformSpecificManifest> manifests = Arrays.asList(
+                PlatformBuilder.of().add("os", "/linux(/").manifest());
+
+        CompiledManifestMatcher matcher = CompiledManifestMatcher.compile(manifests);
+
+        assertFalse(matcher.findBestMatch(PlatformBuilder.of().reference()).isPresent());
+        assertThrows(PatternSyntaxException.class,
+                () -> matcher.findBestMatch(PlatformBuilder.of().add("os", "linux").reference()));
+        assertThrows(PatternSyntaxException.class,
+                () -> PlatformHelper.findBestMatch(PlatformBuilder.of().add("os", "linux").reference(), manifests));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentConfigurationTest extends BaseRecipeTest {
+
+    private static final String CONFIG = "{\"a\":{\"b\":[1,2.5,\"x\",true,null]},\"c\":12345678901}";
+    private static final String CONFIG_REORDERED = "{\"c\":12345678901,\"a\":{\"b\":[1,2.5,\"x\",true,null]}}";
+
+    @Test
+    void GIVEN_lazy_configuration_WHEN_compared_THEN_equal_to_eager_without_materializing() throws IOException {
+        ComponentConfiguration eager = new ComponentConfiguration(DESERIALIZER_JSON.readTree(CONFIG));
+        ComponentConfiguration lazy = lazy(CONFIG);
+        ComponentConfiguration reordered = lazy(CONFIG_REORDERED);
+
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(lazy, reordered);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        assertEquals(eager.hashCode(), reordered.hashCode());
+        assertEquals(eager.toString(), lazy.toString());
+        assertNotEquals(lazy, lazy("{\"c\":1}"));
+        assertFalse(lazy.isMaterialized());
+        assertFalse(reordered.isMaterialized());
+    }
+
+    @Test
+    void GIVEN_lazy_configuration_WHEN_serialized_THEN_same_output_without_materializing() throws IOException {
+        ComponentConfiguration eager = new ComponentConfiguration(DESERIALIZER_JSON.readTree(CONFIG));
+        ComponentConfiguration lazy = lazy(CONFIG);
+
+        assertEquals(DESERIALIZER_JSON.writeValueAsString(eager), DESERIALIZER_JSON.writeValueAsString(lazy));
+        assertEquals(DESERIALIZER_YAML.writeValueAsString(eager), DESERIALIZER_YAML.writeValueAsString(lazy));
+        assertEquals("{}", DESERIALIZER_JSON.writeValueAsString(new ComponentConfiguration()));
+        assertFalse(lazy.isMaterialized());
+    }
+
+    @Test
+    void GIVEN_lazy_configuration_WHEN_get_default_configuration_THEN_materialized_once() {
+        ComponentConfiguration lazy = lazy(CONFIG);
+
+        JsonNode node = lazy.getDefaultConfiguration();
+
+        assertTrue(lazy.isMaterialized());
+        assertEquals("x", node.at("/a/b/2").textValue());
+        assertSame(node, lazy.getDefaultConfiguration());
+    }
+
+    @Test
+    void GIVEN_yaml_recipe_WHEN_read_streaming_THEN_configuration_lazy_and_equal_to_mapper() throws IOException {
+        byte[] recipe = ("---\nRecipeFormatVersion: 2020-01-25\nComponentName: A\nComponentVersion: 1.0.0\n"
+                + "ComponentConfiguration:\n  DefaultConfiguration:\n    port: 8080\n    ratio: 0.5\n"
+                + "    tags: [a, b]\n").getBytes(StandardCharsets.UTF_8);
+
+        ComponentRecipe expected = DESERIALIZER_YAML.readValue(recipe, ComponentRecipe.class);
+        ComponentRecipe actual = RecipeReader.yaml().read(recipe);
+
+        assertFalse(actual.getComponentConfiguration().isMaterialized());
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.getComponentConfiguration().getDefaultConfiguration(),
+                actual.getComponentConfiguration().getDefaultConfiguration());
+    }
+
+    @Test
+    void GIVEN_lazy_configuration_WHEN_materialized_THEN_same_hash_as_yaml_source() throws IOException {
+        ComponentConfiguration lazy = lazy(CONFIG);
+        int hash = lazy.hashCode();
+        ComponentConfiguration yaml = new ComponentConfiguration(DESERIALIZER_YAML.readTree(
+                "c: 12345678901\na:\n  b: [1, 2.5, x, true, null]\n"));
+
+        lazy.getDefaultConfiguration();
+
+        assertEquals(hash, lazy.hashCode());
+        assertEquals(yaml, lazy);
+        assertEquals(hash, yaml.hashCode());
+        yaml.setDefaultConfiguration(DESERIALIZER_YAML.readTree("c: 1\n"));
+        assertNotEquals(hash, yaml.hashCode());
+    }
+
+    @Test
+    void GIVEN_materialized_configuration_WHEN_changed_in_place_THEN_equality_and_hash_follow() throws IOException {
+        ComponentConfiguration changed = lazy(CONFIG);
+        ComponentConfiguration original = lazy(CONFIG);
+        int hash = changed.hashCode();
+        assertEquals(original, changed);
+
+        ((ObjectNode) changed.getDefaultConfiguration()).put("c", 1);
+        ComponentConfiguration expected = new ComponentConfiguration(DESERIALIZER_JSON.readTree(
+                "{\"a\":{\"b\":[1,2.5,\"x\",true,null]},\"c\":1}"));
+
+        assertNotEquals(original, changed);
+        assertNotEquals(hash, changed.hashCode());
+        assertEquals(expected, changed);
+        assertEquals(expected.hashCode(), changed.hashCode());
+        assertTrue(new HashSet<>(Collections.singleton(expected)).contains(changed));
+    }
+
+    private static ComponentConfiguration lazy(String json) {
+        return ComponentConfiguration.lazy(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
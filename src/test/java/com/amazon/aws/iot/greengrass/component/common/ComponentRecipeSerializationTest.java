@@ -119,6 +119,17 @@ class ComponentRecipeSerializationTest extends BaseRecipeTest {
         assertThat(componentRecipe, Is.is(recipe));
     }
 
+    @Test
+    void GIVEN_a_dependency_requirement_WHEN_we_serialize_it_THEN_requirement_is_written_as_is() throws IOException {
+        DependencyProperties dependency = DependencyProperties.builder().versionRequirement("^1.1 || ~2.3.4").build();
+
+        String json = DESERIALIZER_JSON.writeValueAsString(dependency);
+
+        assertThat(DESERIALIZER_JSON.readTree(json).get("VersionRequirement").textValue(), Is.is("^1.1 || ~2.3.4"));
+        assertThat(DESERIALIZER_JSON.readValue(json, DependencyProperties.class), Is.is(dependency));
+        assertThat(dependency.getCompiledVersionRequirement().isSatisfiedBy(new Semver("2.3.9")), Is.is(true));
+    }
+
     private ComponentRecipe getDummyComponentRecipe() {
         return ComponentRecipe.builder().componentName("test").recipeFormatVersion(RecipeFormatVersion.JAN_25_2020)
                 .componentVersion(new Semver("1.0.0")).build();
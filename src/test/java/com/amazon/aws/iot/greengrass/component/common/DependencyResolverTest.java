@@ -0,0 +1,153 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Requirement;
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyResolverTest {
+
+    @Test
+    void GIVEN_transitive_requirements_WHEN_resolve_THEN_highest_satisfying_versions_in_dependency_order() {
+        DependencyResolver resolver = new DependencyResolver(Arrays.asList(
+                recipe("A", "1.0.0", "B", "^1.0.0"),
+                recipe("B", "1.0.0"),
+                recipe("B", "1.5.0", "C", ">=1.0.0 <3.0.0"),
+                recipe("B", "2.0.0"),
+                recipe("C", "1.0.0"),
+                recipe("C", "2.9.9"),
+                recipe("C", "3.0.0")));
+
+        DependencyResolution resolution = resolver.resolve(roots("A", "*"));
+
+        assertTrue(resolution.isResolved());
+        assertEquals(Arrays.asList("C", "B", "A"), new ArrayList<>(resolution.getComponents().keySet()));
+        assertEquals(new Semver("1.5.0"), resolution.getComponents().get("B").getComponentVersion());
+        assertEquals(new Semver("2.9.9"), resolution.getComponents().get("C").getComponentVersion());
+    }
+
+    @Test
+    void GIVEN_incompatible_requirements_WHEN_resolve_THEN_conflict_reported() {
+        DependencyResolver resolver = new DependencyResolver(Arrays.asList(
+                recipe("A", "1.0.0", "B", "<2.0.0"),
+                recipe("C", "1.0.0", "B", ">=2.0.0"),
+                recipe("B", "1.0.0"),
+                recipe("B", "2.0.0"),
+                recipe("D", "1.0.0", "Missing", "^1.0.0")));
+
+        Map<String, Requirement> roots = roots("A", "*");
+        roots.putAll(roots("C", "*"));
+        roots.putAll(roots("D", "*"));
+        DependencyResolution resolution = resolver.resolve(roots);
+
+        assertFalse(resolution.isResolved());
+        Map<String, DependencyResolution.UnsatisfiedDependency> unsatisfied = new HashMap<>();
+        resolution.getUnsatisfiedDependencies().forEach(u -> unsatisfied.put(u.getComponentName(), u));
+        assertEquals(2, unsatisfied.size());
+        assertTrue(unsatisfied.get("B").isConflict());
+        assertEquals(2, unsatisfied.get("B").getRequirements().size());
+        assertFalse(unsatisfied.get("Missing").isConflict());
+    }
+
+    @Test
+    void GIVEN_unsatisfiable_soft_requirement_WHEN_resolve_THEN_reported_without_failing() {
+        DependencyResolver resolver = new DependencyResolver(Arrays.asList(
+                recipe("A", "1.0.0", "B", ">=3.0.0", DependencyType.SOFT),
+                recipe("B", "1.0.0"),
+                recipe("B", "2.0.0")));
+
+        DependencyResolution resolution = resolver.resolve(roots("A", "*"));
+
+        assertTrue(resolution.isResolved());
+        assertEquals(new Semver("2.0.0"), resolution.getComponents().get("B").getComponentVersion());
+        assertEquals(1, resolution.getUnsatisfiedSoftDependencies().size());
+        assertEquals("A", resolution.getUnsatisfiedSoftDependencies().get(0).getDependent());
+    }
+
+    @Test
+    void GIVEN_soft_requirement_on_missing_component_WHEN_resolve_THEN_reported_without_failing() {
+        DependencyResolver resolver = new DependencyResolver(Collections.singletonList(
+                recipe("A", "1.0.0", "Missing", "^1.0.0", DependencyType.SOFT)));
+
+        DependencyResolution resolution = resolver.resolve(roots("A", "*"));
+
+        assertTrue(resolution.isResolved());
+        assertTrue(resolution.getUnsatisfiedDependencies().isEmpty());
+        assertEquals(Collections.singleton("A"), resolution.getComponents().keySet());
+        assertEquals(1, resolution.getUnsatisfiedSoftDependencies().size());
+        assertEquals("Missing", resolution.getUnsatisfiedSoftDependencies().get(0).getDependency());
+    }
+
+    @Test
+    void GIVEN_circular_dependencies_WHEN_resolve_THEN_cycle_reported() {
+        DependencyResolver resolver = new DependencyResolver(Arrays.asList(
+                recipe("A", "1.0.0", "B", "*"),
+                recipe("B", "1.0.0", "A", "*")));
+
+        DependencyResolution resolution = resolver.resolve(roots("A", "*"));
+
+        assertFalse(resolution.isResolved());
+        assertEquals(Collections.singletonList(Arrays.asList("B", "A")), resolution.getCycles());
+    }
+
+    @Test
+    void GIVEN_downgrade_forced_by_later_requirement_WHEN_resolve_THEN_dependencies_of_dropped_version_removed() {
+        DependencyResolver resolver = new DependencyResolver(Arrays.asList(
+                recipe("A", "1.0.0"),
+                recipe("A", "2.0.0", "D", "*"),
+                recipe("C", "1.0.0", "A", "<2.0.0"),
+                recipe("D", "1.0.0")));
+
+        Map<String, Requirement> roots = roots("A", "*");
+        roots.putAll(roots("C", "*"));
+        DependencyResolution resolution = resolver.resolve(roots);
+
+        assertTrue(resolution.isResolved());
+        assertEquals(new Semver("1.0.0"), resolution.getComponents().get("A").getComponentVersion());
+        assertFalse(resolution.getComponents().containsKey("D"));
+    }
+
+    private static Map<String, Requirement> roots(String name, String requirement) {
+        Map<String, Requirement> roots = new LinkedHashMap<>();
+        roots.put(name, Requirement.buildNPM(requirement));
+        return roots;
+    }
+
+    private static ComponentRecipe recipe(String name, String version) {
+        return recipe(name, version, Collections.emptyMap());
+    }
+
+    private static ComponentRecipe recipe(String name, String version, String dependency, String requirement) {
+        return recipe(name, version, dependency, requirement, DependencyType.HARD);
+    }
+
+    private static ComponentRecipe recipe(String name, String version, String dependency, String requirement,
+                                          DependencyType type) {
+        return recipe(name, version, Collections.singletonMap(dependency, DependencyProperties.builder()
+                .versionRequirement(requirement).dependencyType(type).build()));
+    }
+
+    private static ComponentRecipe recipe(String name, String version, Map<String, DependencyProperties> deps) {
+        return ComponentRecipe.builder()
+                .recipeFormatVersion(RecipeFormatVersion.JAN_25_2020)
+                .componentName(name)
+                .componentVersion(new Semver(version))
+                .componentDependencies(deps)
+                .build();
+    }
+}
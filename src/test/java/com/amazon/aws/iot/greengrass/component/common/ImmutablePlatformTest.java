@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImmutablePlatformTest {
+
+    @Test
+    void GIVEN_platform_WHEN_converted_THEN_equal_to_source_and_back() {
+        Platform platform = Platform.builder()
+                .os(Platform.OS.LINUX)
+                .architecture(Platform.Architecture.AARCH64)
+                .runtime("aws_nucleus_lite")
+                .add("zeta", "1")
+                .add("alpha", "2")
+                .build();
+
+        ImmutablePlatform immutable = ImmutablePlatform.of(platform);
+
+        assertEquals(platform, immutable);
+        assertEquals(immutable, platform);
+        assertEquals(platform.hashCode(), immutable.hashCode());
+        assertEquals(5, immutable.size());
+        assertEquals("linux", immutable.getOs());
+        assertEquals("aarch64", immutable.getArchitecture());
+        assertEquals("aws_nucleus_lite", immutable.getRuntime());
+        assertEquals("2", immutable.get("alpha"));
+        assertNull(immutable.get("missing"));
+        assertEquals(platform, immutable.toPlatform());
+        assertSame(immutable, ImmutablePlatform.of(immutable));
+    }
+
+    @Test
+    void GIVEN_map_with_null_values_WHEN_converted_THEN_null_values_dropped() {
+        Map<String, String> map = new HashMap<>();
+        map.put(Platform.OS_KEY, "windows");
+        map.put(Platform.RUNTIME_KEY, null);
+        map.put("other", null);
+
+        ImmutablePlatform immutable = ImmutablePlatform.of(map);
+
+        assertEquals(1, immutable.size());
+        assertFalse(immutable.containsKey(Platform.RUNTIME_KEY));
+        assertEquals(Platform.WILDCARD, immutable.getFieldOrWild(Platform.RUNTIME_KEY));
+        assertSame(ImmutablePlatform.EMPTY, ImmutablePlatform.of(new HashMap<>()));
+        assertTrue(ImmutablePlatform.EMPTY.isEmpty());
+    }
+
+    @Test
+    void GIVEN_equal_platforms_WHEN_interned_THEN_same_instance_returned() {
+        ImmutablePlatform first = ImmutablePlatform.of(PlatformBuilder.of().add("os", "linux").add("x", "y")
+                .reference());
+        ImmutablePlatform second = ImmutablePlatform.of(PlatformBuilder.of().add("x", "y").add("os", "linux")
+                .reference());
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertSame(first.intern(), second.intern());
+        assertSame(first.intern(), ImmutablePlatform.interned(PlatformBuilder.of().add("os", "linux")
+                .add("x", "y").reference()));
+    }
+
+    @Test
+    void GIVEN_immutable_platform_WHEN_modified_THEN_throws() {
+        ImmutablePlatform immutable = ImmutablePlatform.of(PlatformBuilder.of().add("os", "linux").reference());
+
+        assertThrows(UnsupportedOperationException.class, () -> immutable.put("os", "windows"));
+        assertThrows(UnsupportedOperationException.class, () -> immutable.entrySet().clear());
+    }
+
+    @Test
+    void GIVEN_immutable_platform_WHEN_findBestMatch_THEN_same_result_as_platform() {
+        Map<String, String> platform = PlatformBuilder.of().add("os", "linux").add("architecture", "arm")
+                .reference();
+        List<PlatformSpecificManifest> manifests = Arrays.asList(
+                PlatformBuilder.of().add("os", "windows").manifest(),
+                PlatformBuilder.of().add("os", "/linux|darwin/").add("architecture", "arm").manifest());
+
+        assertEquals(PlatformHelper.findBestMatch(platform, manifests),
+                PlatformHelper.findBestMatch(ImmutablePlatform.of(platform), manifests));
+    }
+}
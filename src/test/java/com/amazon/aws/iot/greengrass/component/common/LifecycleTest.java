@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LifecycleTest extends BaseRecipeTest {
+
+    @Test
+    void GIVEN_recipe_with_selections_WHEN_get_lifecycle_view_THEN_selections_and_steps_read() throws IOException {
+        Path path = getResourcePath("sample-recipe-with-all-fields.yaml");
+        ComponentRecipe recipe = DESERIALIZER_YAML.readValue(path.toFile(), ComponentRecipe.class);
+
+        Lifecycle lifecycle = recipe.getLifecycleView();
+
+        assertTrue(lifecycle.getSteps().isEmpty());
+        assertEquals(3, lifecycle.getSelections().size());
+        Lifecycle.Step one = lifecycle.getSelections().get("one").getInstall();
+        assertEquals("sudo apt-get install git", one.getScript());
+        assertEquals(Lifecycle.SkipCondition.Type.ON_PATH, one.getSkipIf().getType());
+        assertEquals("git", one.getSkipIf().getArgument());
+        Lifecycle.Step three = lifecycle.getSelections().get("two").getInstall().getSelections().get("three");
+        assertEquals("sudo apt-get install git", three.getScript());
+        Lifecycle.Step any = lifecycle.getSelections().get("any").getInstall();
+        assertNull(any.getSkipIf());
+        assertEquals("onpath git", any.getSkipIfSelections().get("four").getExpression());
+    }
+
+    @Test
+    void GIVEN_manifest_lifecycle_WHEN_get_lifecycle_view_THEN_steps_read() throws IOException {
+        Path path = getResourcePath("b1-recipe-with-all-fields.yaml");
+        ComponentRecipe recipe = DESERIALIZER_YAML.readValue(path.toFile(), ComponentRecipe.class);
+
+        Lifecycle lifecycle = recipe.getManifests().get(0).getLifecycleView();
+
+        assertEquals("sudo apt-get install git", lifecycle.getInstall().getScript());
+        assertEquals("git", lifecycle.getInstall().getSkipIf().getArgument());
+        assertNull(lifecycle.getRun());
+    }
+
+    @Test
+    void GIVEN_step_properties_WHEN_get_lifecycle_view_THEN_coerced() throws IOException {
+        String yaml = "---\nRecipeFormatVersion: '2020-01-25'\nComponentName: A\nComponentVersion: 1.0.0\n"
+                + "Lifecycle:\n"
+                + "  SetEnv:\n    PORT: 8080\n"
+                + "  install:\n    Script: make\n    Timeout: '120'\n    RequiresPrivilege: true\n"
+                + "    Skipif: exists /opt/a\n    SetEnv:\n      MODE: fast\n"
+                + "  Run: python3 {artifacts:path}/main.py\n"
+                + "  Shutdown:\n    Script: stop\n    Timeout: '{configuration:/timeout}'\n"
+                + "  Bootstrap:\n    BootstrapOnRollback: true\n    Script: boot\n";
+        ComponentRecipe recipe = RecipeReader.yaml().read(yaml.getBytes(StandardCharsets.UTF_8));
+
+        Lifecycle lifecycle = recipe.getLifecycleView();
+
+        assertEquals(Collections.singletonMap("PORT", "8080"), lifecycle.getSetEnv());
+        Lifecycle.Step install = lifecycle.getInstall();
+        assertEquals("make", install.getScript());
+        assertEquals(120, install.getTimeout());
+        assertTrue(install.isRequiresPrivilege());
+        assertEquals(Lifecycle.SkipCondition.Type.EXISTS, install.getSkipIf().getType());
+        assertEquals("/opt/a", install.getSkipIf().getArgument());
+        assertEquals(Collections.singletonMap("MODE", "fast"), install.getSetEnv());
+        assertEquals("python3 {artifacts:path}/main.py", lifecycle.getStep("RUN").getScript());
+        assertFalse(lifecycle.getRun().isRequiresPrivilege());
+        assertNull(lifecycle.getShutdown().getTimeout());
+        assertEquals(Collections.singletonMap("BootstrapOnRollback", true),
+                lifecycle.getBootstrap().getProperties());
+    }
+
+    @Test
+    void GIVEN_recipe_WHEN_get_lifecycle_view_twice_THEN_parsed_once_and_not_serialized() throws IOException {
+        Path path = getResourcePath("sample-recipe-with-all-fields.yaml");
+        ComponentRecipe recipe = DESERIALIZER_YAML.readValue(path.toFile(), ComponentRecipe.class);
+        ComponentRecipe other = DESERIALIZER_YAML.readValue(path.toFile(), ComponentRecipe.class);
+        String before = DESERIALIZER_JSON.writeValueAsString(recipe);
+
+        assertSame(recipe.getLifecycleView(), recipe.getLifecycleView());
+        assertEquals(other, recipe);
+        assertEquals(other.hashCode(), recipe.hashCode());
+        assertEquals(before, DESERIALIZER_JSON.writeValueAsString(recipe));
+        assertFalse(recipe.toString().contains("lifecycleView"));
+    }
+
+    @Test
+    void GIVEN_no_lifecycle_WHEN_get_lifecycle_view_THEN_empty() {
+        assertSame(Lifecycle.EMPTY, Lifecycle.of(null));
+        assertSame(Lifecycle.EMPTY, Lifecycle.of(Collections.<String, Object>emptyMap()));
+        assertTrue(PlatformSpecificManifest.builder().build().getLifecycleView().isEmpty());
+        Map<String, Object> lifecycle = Collections.singletonMap("Startup", null);
+        assertNull(Lifecycle.of(lifecycle).getStartup().getScript());
+    }
+
+    @Test
+    void GIVEN_unknown_skip_condition_WHEN_parsed_THEN_type_null() {
+        Lifecycle.SkipCondition condition = Lifecycle.SkipCondition.parse("onwindows");
+
+        assertNull(condition.getType());
+        assertNull(condition.getArgument());
+        assertEquals("onwindows", condition.getExpression());
+    }
+}
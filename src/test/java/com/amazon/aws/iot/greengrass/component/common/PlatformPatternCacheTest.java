@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlatformPatternCacheTest {
+
+    @Test
+    void GIVEN_cache_WHEN_same_template_requested_THEN_compiled_once() {
+        PlatformPatternCache cache = new PlatformPatternCache(4);
+
+        Pattern first = cache.getPattern("/linux|darwin/");
+        Pattern second = cache.getPattern("/linux|darwin/");
+
+        assertSame(first, second);
+        assertTrue(first.matcher("darwin").matches());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void GIVEN_full_cache_WHEN_new_template_requested_THEN_least_recently_used_evicted() {
+        PlatformPatternCache cache = new PlatformPatternCache(2);
+
+        Pattern one = cache.getPattern("/one/");
+        cache.getPattern("/two/");
+        // touch "one" so that "two" is the eldest entry
+        cache.getPattern("/one/");
+        cache.getPattern("/three/");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(one, cache.getPattern("/one/"));
+        long misses = cache.getMissCount();
+        cache.getPattern("/two/");
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    void GIVEN_invalid_template_WHEN_requested_THEN_throws_and_not_cached() {
+        PlatformPatternCache cache = new PlatformPatternCache(2);
+
+        assertThrows(PatternSyntaxException.class, () -> cache.getPattern("/linux(/"));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new PlatformPatternCache(0));
+    }
+
+    @Test
+    void GIVEN_platform_WHEN_findBestMatch_with_cache_THEN_same_result_as_without_cache() {
+        Map<String, String> platformToTest = PlatformBuilder.of()
+                .add("os", "linux")
+                .add("architecture", "aarch64")
+                .reference();
+        List<PlatformSpecificManifest> manifests = Arrays.asList(
+                PlatformBuilder.of().add("os", "/windows|darwin/").manifest(),
+                PlatformBuilder.of().add("os", "/linux|darwin/").add("architecture", "/arm|aarch64/").manifest());
+        PlatformPatternCache cache = new PlatformPatternCache(8);
+
+        Optional<PlatformSpecificManifest> cached = PlatformHelper.findBestMatch(platformToTest, manifests, cache);
+        Optional<PlatformSpecificManifest> uncached = PlatformHelper.findBestMatch(platformToTest, manifests, null);
+
+        assertTrue(cached.isPresent());
+        assertEquals(uncached, cached);
+        assertEquals(manifests.get(1), cached.get());
+        assertEquals(3, cache.size());
+
+        PlatformHelper.findBestMatch(platformToTest, manifests, cache);
+        assertEquals(3, cache.getHitCount());
+        assertFalse(PlatformHelper.findBestMatch(PlatformBuilder.of().add("os", "freebsd").reference(), manifests,
+                cache).isPresent());
+    }
+}
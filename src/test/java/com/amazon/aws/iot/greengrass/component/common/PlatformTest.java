@@ -0,0 +1,63 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.amazon.aws.iot.greengrass.component.common.Platform.Architecture;
+import com.amazon.aws.iot.greengrass.component.common.Platform.OS;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlatformTest {
+
+    @Test
+    void GIVEN_os_values_WHEN_getOS_THEN_expected_enum_returned() {
+        for (OS os : OS.values()) {
+            assertSame(os, OS.getOS(os.getName()));
+        }
+        assertSame(OS.ALL, OS.getOS(null));
+        assertSame(OS.ALL, OS.getOS("*"));
+        assertSame(OS.ALL, OS.getOS("any"));
+        assertSame(OS.ALL, OS.getOS("ANY"));
+        assertSame(OS.ALL, OS.getOS("All"));
+        assertSame(OS.UNKNOWN, OS.getOS("Linux"));
+        assertSame(OS.UNKNOWN, OS.getOS("freebsd"));
+    }
+
+    @Test
+    void GIVEN_architecture_values_WHEN_getArch_THEN_expected_enum_returned() {
+        for (Architecture arch : Architecture.values()) {
+            assertSame(arch, Architecture.getArch(arch.getName()));
+        }
+        assertSame(Architecture.ALL, Architecture.getArch(null));
+        assertSame(Architecture.ALL, Architecture.getArch("*"));
+        assertSame(Architecture.ALL, Architecture.getArch("aNy"));
+        assertSame(Architecture.UNKNOWN, Architecture.getArch("AMD64"));
+        assertSame(Architecture.UNKNOWN, Architecture.getArch("riscv64"));
+    }
+
+    @Test
+    void GIVEN_platform_WHEN_fields_change_THEN_enum_view_follows() {
+        Platform platform = new Platform();
+        assertEquals(OS.ALL, platform.getOs());
+        assertEquals(Architecture.ALL, platform.getArchitecture());
+
+        platform.put(Platform.OS_KEY, "linux");
+        platform.put(Platform.ARCHITECTURE_KEY, "");
+        assertEquals(OS.LINUX, platform.getOs());
+        assertEquals(OS.LINUX, platform.getOs());
+        assertEquals(Architecture.ALL, platform.getArchitecture());
+
+        platform.put(Platform.OS_KEY, "windows");
+        platform.put(Platform.ARCHITECTURE_KEY, "arm");
+        assertEquals(OS.WINDOWS, platform.getOs());
+        assertEquals(Architecture.ARM, platform.getArchitecture());
+
+        platform.remove(Platform.OS_KEY);
+        assertEquals(OS.ALL, platform.getOs());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecipeCacheTest extends BaseRecipeTest {
+
+    private static final String RECIPE = "---\nRecipeFormatVersion: 2020-01-25\nComponentName: %s\n"
+            + "ComponentVersion: 1.0.0\n";
+
+    @Test
+    void GIVEN_same_content_WHEN_get_THEN_parsed_once_and_shared() throws IOException {
+        RecipeCache cache = new RecipeCache(RecipeCache.DEFAULT_MAXIMUM_WEIGHT,
+                RecipeCache.DEFAULT_MAXIMUM_RECIPE_SIZE);
+        byte[] yaml = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.yaml"));
+
+        ComponentRecipe first = cache.get(yaml);
+        ComponentRecipe second = cache.get(yaml.clone());
+
+        assertSame(first, second);
+        assertEquals(DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class), first);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+        assertEquals(yaml.length, cache.getWeight());
+    }
+
+    @Test
+    void GIVEN_bom_and_crlf_variants_WHEN_get_THEN_same_digest() throws IOException {
+        String lf = String.format(RECIPE, "A");
+        byte[] crlf = lf.replace("\n", "\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] bom = new byte[crlf.length + 3];
+        bom[0] = (byte) 0xEF;
+        bom[1] = (byte) 0xBB;
+        bom[2] = (byte) 0xBF;
+        System.arraycopy(crlf, 0, bom, 3, crlf.length);
+
+        assertEquals(RecipeCache.digest(lf.getBytes(StandardCharsets.UTF_8)), RecipeCache.digest(crlf));
+        assertEquals(RecipeCache.digest(crlf), RecipeCache.digest(bom));
+        assertNotEquals(RecipeCache.digest(lf.getBytes(StandardCharsets.UTF_8)),
+                RecipeCache.digest(String.format(RECIPE, "B").getBytes(StandardCharsets.UTF_8)));
+
+        RecipeCache cache = new RecipeCache(1024, 1024);
+        assertSame(cache.get(lf.getBytes(StandardCharsets.UTF_8)), cache.get(bom));
+    }
+
+    @Test
+    void GIVEN_weight_exceeded_WHEN_get_THEN_least_recently_used_evicted() throws IOException {
+        byte[] a = String.format(RECIPE, "A").getBytes(StandardCharsets.UTF_8);
+        byte[] b = String.format(RECIPE, "B").getBytes(StandardCharsets.UTF_8);
+        byte[] c = String.format(RECIPE, "C").getBytes(StandardCharsets.UTF_8);
+        RecipeCache cache = new RecipeCache(a.length * 2L, 1024);
+
+        ComponentRecipe recipeA = cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(recipeA, cache.get(a));
+        assertEquals(3, cache.getMissCount());
+        cache.get(b);
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    void GIVEN_document_over_bypass_size_WHEN_get_THEN_not_cached() throws IOException {
+        byte[] a = String.format(RECIPE, "A").getBytes(StandardCharsets.UTF_8);
+        RecipeCache cache = new RecipeCache(1024, a.length - 1);
+
+        assertNotSame(cache.get(a), cache.get(a));
+        assertEquals(2, cache.getBypassCount());
+        assertEquals(0, cache.size());
+        assertEquals(1.0, cache.getHitRatio());
+    }
+
+    @Test
+    void GIVEN_invalid_document_WHEN_get_THEN_throws_and_not_cached() {
+        RecipeCache cache = new RecipeCache(1024, 1024);
+        byte[] invalid = "ComponentName: [".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> cache.get(invalid));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeIngestionTest extends BaseRecipeTest {
+
+    private static final String[] VALID = {
+            "sample-recipe-with-all-fields.yaml",
+            "b1-recipe-with-all-fields.yaml",
+            "sample-recipe-with-all-fields.json",
+            "wrapper-component-recipe.json"
+    };
+    private static final String[] INVALID = {
+            "sample-recipe-with-illegal-component-name.yaml",
+            "error-recipe-contains-null-element-in-manifests.json"
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void GIVEN_recipe_tree_WHEN_ingest_THEN_every_file_delivered_once() throws IOException {
+        Path nested = Files.createDirectories(directory.resolve("a").resolve("b"));
+        for (String name : VALID) {
+            Files.copy(getResourcePath(name), nested.resolve(name));
+        }
+        for (String name : INVALID) {
+            Files.copy(getResourcePath(name), directory.resolve(name));
+        }
+        Files.write(directory.resolve("README.txt"), new byte[]{1, 2, 3});
+        Collector collector = new Collector();
+
+        RecipeIngestion.Stats stats = RecipeIngestion.builder().parallelism(3).build().ingest(directory, collector);
+
+        assertEquals(VALID.length, collector.recipes.size());
+        assertEquals(INVALID.length, collector.errors.size());
+        assertEquals(DESERIALIZER_YAML.readValue(getResourcePath(VALID[0]).toFile(), ComponentRecipe.class),
+                collector.recipes.get(nested.resolve(VALID[0])));
+        assertEquals(VALID.length, stats.getFiles());
+        assertEquals(INVALID.length, stats.getFailures());
+        assertTrue(stats.getBytes() > 0);
+        assertTrue(stats.getP50LatencyNanos() <= stats.getP99LatencyNanos());
+        assertTrue(stats.getP99LatencyNanos() <= stats.getMaxLatencyNanos());
+        assertTrue(stats.getFilesPerSecond() > 0);
+    }
+
+    @Test
+    void GIVEN_memory_budget_smaller_than_files_WHEN_ingest_paths_THEN_files_read_one_at_a_time() throws IOException {
+        Path missing = directory.resolve("missing.yaml");
+        Collector collector = new Collector();
+
+        RecipeIngestion.Stats stats = RecipeIngestion.builder().parallelism(4).maxBufferedBytes(1L).build()
+                .ingest(Arrays.asList(getResourcePath(VALID[0]), getResourcePath(VALID[2]), missing,
+                        getResourcePath(VALID[0])).iterator(), collector);
+
+        assertEquals(2, collector.recipes.size());
+        assertTrue(collector.errors.containsKey(missing));
+        assertEquals(3, stats.getFiles());
+        assertEquals(1, stats.getFailures());
+    }
+
+    private static final class Collector implements RecipeIngestion.Listener {
+        final Map<Path, ComponentRecipe> recipes = new ConcurrentHashMap<>();
+        final Map<Path, Exception> errors = new ConcurrentHashMap<>();
+
+        @Override
+        public void onRecipe(Path path, ComponentRecipe recipe) {
+            recipes.put(path, recipe);
+        }
+
+        @Override
+        public void onError(Path path, Exception error) {
+            errors.put(path, error);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeReaderTest extends BaseRecipeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.yaml",
+            "b1-recipe-with-all-fields.yaml",
+            "wrapper-component-recipe.yaml"
+    })
+    void GIVEN_yaml_recipe_WHEN_read_streaming_THEN_same_as_mapper(String fileName) throws IOException {
+        Path path = getResourcePath(fileName);
+        ComponentRecipe expected = DESERIALIZER_YAML.readValue(path.toFile(), ComponentRecipe.class);
+
+        ComponentRecipe actual;
+        try (InputStream in = Files.newInputStream(path)) {
+            actual = RecipeReader.yaml().read(in);
+        }
+
+        assertEquals(expected, actual);
+        assertArrayEquals(DESERIALIZER_YAML.writeValueAsBytes(expected), DESERIALIZER_YAML.writeValueAsBytes(actual));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.json",
+            "b2-recipe-with-all-fields.json",
+            "wrapper-component-recipe.json"
+    })
+    void GIVEN_json_recipe_WHEN_read_from_channel_THEN_same_as_mapper(String fileName) throws IOException {
+        Path path = getResourcePath(fileName);
+        ComponentRecipe expected = DESERIALIZER_JSON.readValue(path.toFile(), ComponentRecipe.class);
+
+        ComponentRecipe actual;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            actual = RecipeReader.json().read(channel);
+            assertTrue(channel.isOpen());
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void GIVEN_recipe_WHEN_read_streaming_THEN_lifecycle_materialized_on_first_access() throws IOException {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"componentName\": \"A\","
+                + " \"ComponentVersion\": \"1.0.0\", \"Lifecycle\": {\"run\": {\"script\": \"echo\"}}}";
+
+        ComponentRecipe actual = RecipeReader.json().read(recipe.getBytes(StandardCharsets.UTF_8));
+
+        LazyTokenMap lifecycle = (LazyTokenMap) actual.getLifecycle();
+        assertFalse(lifecycle.isMaterialized());
+        assertEquals(Collections.singletonMap("script", "echo"), lifecycle.get("run"));
+        assertTrue(lifecycle.isMaterialized());
+    }
+
+    @Test
+    void GIVEN_recipe_without_lifecycle_WHEN_read_streaming_THEN_defaults_applied() throws IOException {
+        String recipe = "---\nRecipeFormatVersion: 2020-01-25\nComponentName: A\nComponentVersion: 1.0.0\n"
+                + "Manifests:\n";
+
+        ComponentRecipe actual = RecipeReader.yaml().read(new ByteArrayInputStream(
+                recipe.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(ComponentType.GENERIC, actual.getComponentType());
+        assertEquals(Collections.emptyMap(), actual.getLifecycle());
+        assertEquals(Collections.emptyList(), actual.getManifests());
+    }
+
+    @Test
+    void GIVEN_stream_WHEN_read_streaming_THEN_stream_left_open() throws IOException {
+        CloseTrackingInputStream in = new CloseTrackingInputStream("{\"RecipeFormatVersion\": \"2020-01-25\","
+                + " \"ComponentName\": \"A\", \"ComponentVersion\": \"1.0.0\"}");
+
+        assertEquals("A", RecipeReader.json().read(in).getComponentName());
+        assertFalse(in.closed);
+    }
+
+    @Test
+    void GIVEN_stream_WHEN_read_report_THEN_stream_left_open() throws IOException {
+        CloseTrackingInputStream in = new CloseTrackingInputStream("{\"ComponentName\": \"A\"}");
+
+        assertFalse(RecipeReader.json().readReport(in).getViolations().isEmpty());
+        assertFalse(in.closed);
+    }
+
+    @Test
+    void GIVEN_invalid_component_name_WHEN_read_streaming_THEN_throws_mapping_exception() {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"ComponentName\": \"a b\","
+                + " \"ComponentVersion\": \"1.0.0\"}";
+
+        assertThrows(JsonMappingException.class,
+                () -> RecipeReader.json().read(recipe.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void GIVEN_unknown_field_WHEN_read_streaming_THEN_throws_like_mapper() {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"ComponentName\": \"A\","
+                + " \"ComponentVersion\": \"1.0.0\", \"Unknown\": [1, 2]}";
+
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> RecipeReader.json().read(recipe.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void GIVEN_recipe_with_many_problems_WHEN_read_report_THEN_all_violations_collected() throws IOException {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"ComponentName\": \"a b\","
+                + " \"ComponentVersion\": \"1.0.0-" + String.join("", Collections.nCopies(60, "a")) + "\","
+                + " \"ComponentDependencies\": {\"B\": {\"DependencyType\": \"SOFT\"}},"
+                + " \"Manifests\": [null, {\"Artifacts\": [{\"Digest\": \"d\"}, null]}]}";
+
+        RecipeReport report = RecipeReader.json().readReport(recipe.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(report.getRecipe());
+        assertFalse(report.isValid());
+        assertEquals(Arrays.asList("/ComponentName", "/ComponentVersion", "/ComponentDependencies/B", "/Manifests/0",
+                "/Manifests/1/Artifacts/0", "/Manifests/1/Artifacts/1"),
+                report.getViolations().stream().map(RecipeViolation::getPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    void GIVEN_missing_fields_and_invalid_requirement_WHEN_read_report_THEN_binding_error_kept() throws IOException {
+        String recipe = "{\"ComponentName\": \"A\","
+                + " \"ComponentDependencies\": {\"B\": {\"VersionRequirement\": \"^^x\"}}}";
+
+        RecipeReport report = RecipeReader.json().readReport(recipe.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(report.getRecipe());
+        // RecipeFormatVersion, ComponentVersion and Manifests are missing, none of them hides the binding error
+        assertEquals(Arrays.asList("", "", "", "/ComponentDependencies/B"),
+                report.getViolations().stream().map(RecipeViolation::getPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    void GIVEN_valid_recipe_WHEN_read_report_THEN_same_recipe_as_read() throws IOException {
+        byte[] recipe = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.yaml"));
+
+        RecipeReport report = RecipeReader.yaml().readReport(recipe);
+
+        assertTrue(report.isValid(), report.getViolations().toString());
+        assertEquals(RecipeReader.yaml().read(recipe), report.getRecipe());
+    }
+
+    @Test
+    void GIVEN_recipe_violating_schema_only_WHEN_read_report_THEN_recipe_and_violation() throws IOException {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"ComponentName\": \"A\","
+                + " \"ComponentVersion\": \"1.0.0\", \"Manifests\": [{\"Lifecycle\": {\"run\": {\"script\": \"a\","
+                + " \"timeout\": 1.5}}}]}";
+
+        RecipeReport report = RecipeReader.json().readReport(recipe.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("A", report.getRecipe().getComponentName());
+        assertEquals(1, report.getViolations().size());
+        assertEquals("/Manifests/0/Lifecycle/run/timeout", report.getViolations().get(0).getPath());
+    }
+
+    @Test
+    void GIVEN_malformed_document_WHEN_read_report_THEN_violation_instead_of_exception() throws IOException {
+        String recipe = "{\"RecipeFormatVersion\": \"2020-01-25\", \"Manifests\": [}";
+
+        RecipeReport report = RecipeReader.json().readReport(recipe.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(report.getRecipe());
+        assertEquals(1, report.getViolations().size());
+        assertTrue(report.getViolations().get(0).getPath().startsWith("/Manifests"));
+    }
+}
@@ -134,7 +134,7 @@ class RecipeSchemaTest extends BaseRecipeTest {
     converting recipe to ComponentRecipe object to normalize enums. We do not perform this here as this cannot be
     enforced by json schema alone.
      */
-    private static JsonNode lowerJsonNodeKeys(JsonNode node, ObjectMapper mapper) {
+    static JsonNode lowerJsonNodeKeys(JsonNode node, ObjectMapper mapper) {
         ObjectNode loweredNode = mapper.createObjectNode();
         Iterator<String> fieldNames = node.fieldNames();
 
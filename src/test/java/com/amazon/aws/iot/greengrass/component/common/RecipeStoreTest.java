@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeStoreTest extends BaseRecipeTest {
+
+    @TempDir
+    Path directory;
+
+    private ComponentRecipe recipe;
+
+    @BeforeEach
+    void setup() throws IOException {
+        recipe = DESERIALIZER_YAML.readValue(getResourcePath("sample-recipe-with-all-fields.yaml").toFile(),
+                ComponentRecipe.class);
+    }
+
+    @Test
+    void GIVEN_stored_recipes_WHEN_reopened_THEN_lookups_return_same_recipes() throws IOException {
+        try (RecipeStore store = RecipeStore.open(directory)) {
+            store.put(recipe);
+            store.put(withVersion("2.0.0"));
+            assertEquals(recipe, store.get(recipe.getComponentName(), recipe.getComponentVersion()).get());
+        }
+
+        try (RecipeStore store = RecipeStore.open(directory)) {
+            assertEquals(2, store.size());
+            assertEquals(Arrays.asList(recipe.getComponentVersion(), new Semver("2.0.0")),
+                    store.getVersions(recipe.getComponentName()));
+            assertEquals(recipe, store.get(recipe.getComponentName(), recipe.getComponentVersion()).get());
+            assertEquals(withVersion("2.0.0"), store.get(recipe.getComponentName(), new Semver("2.0.0")).get());
+            assertFalse(store.get(recipe.getComponentName(), new Semver("3.0.0")).isPresent());
+        }
+    }
+
+    @Test
+    void GIVEN_writes_after_last_index_flush_WHEN_reopened_THEN_recovered_from_data_file() throws IOException {
+        RecipeStore store = RecipeStore.open(directory);
+        store.put(recipe);
+        store.flushIndex();
+        store.put(withVersion("2.0.0"));
+        // simulate a crash: the index file only covers the first write
+        byte[] staleIndex = Files.readAllBytes(directory.resolve(RecipeStore.INDEX_FILE));
+        store.close();
+        Files.write(directory.resolve(RecipeStore.INDEX_FILE), staleIndex);
+
+        try (RecipeStore reopened = RecipeStore.open(directory)) {
+            assertTrue(reopened.contains(recipe.getComponentName(), new Semver("2.0.0")));
+            assertEquals(withVersion("2.0.0"), reopened.get(recipe.getComponentName(), new Semver("2.0.0")).get());
+        }
+    }
+
+    @Test
+    void GIVEN_torn_record_and_corrupt_index_WHEN_reopened_THEN_intact_records_kept() throws IOException {
+        try (RecipeStore store = RecipeStore.open(directory)) {
+            store.put(recipe);
+        }
+        long intactLength = Files.size(directory.resolve(RecipeStore.DATA_FILE));
+        Files.write(directory.resolve(RecipeStore.DATA_FILE), new byte[]{0x52, 0x43, 0x50, 0x31, 0, 0, 1},
+                StandardOpenOption.APPEND);
+        Files.write(directory.resolve(RecipeStore.INDEX_FILE), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        try (RecipeStore store = RecipeStore.open(directory)) {
+            assertEquals(1, store.size());
+            assertEquals(recipe, store.get(recipe.getComponentName(), recipe.getComponentVersion()).get());
+            assertEquals(intactLength, Files.size(directory.resolve(RecipeStore.DATA_FILE)));
+
+            // writes continue after the truncated tail
+            store.put(withVersion("2.0.0"));
+            assertEquals(withVersion("2.0.0"), store.get(recipe.getComponentName(), new Semver("2.0.0")).get());
+        }
+    }
+
+    @Test
+    void GIVEN_positional_reads_WHEN_torn_record_reopened_THEN_recovered_and_files_released() throws IOException {
+        try (RecipeStore store = RecipeStore.open(directory, false)) {
+            store.put(recipe);
+        }
+        long intactLength = Files.size(directory.resolve(RecipeStore.DATA_FILE));
+        Files.write(directory.resolve(RecipeStore.DATA_FILE), new byte[]{0x52, 0x43, 0x50, 0x31, 0, 0, 1},
+                StandardOpenOption.APPEND);
+
+        try (RecipeStore store = RecipeStore.open(directory, false)) {
+            assertEquals(intactLength, Files.size(directory.resolve(RecipeStore.DATA_FILE)));
+            store.put(withVersion("2.0.0"));
+            assertEquals(recipe, store.get(recipe.getComponentName(), recipe.getComponentVersion()).get());
+            assertEquals(withVersion("2.0.0"), store.get(recipe.getComponentName(), new Semver("2.0.0")).get());
+        }
+
+        // nothing keeps the data file locked once closed
+        Files.delete(directory.resolve(RecipeStore.DATA_FILE));
+    }
+
+    @Test
+    void GIVEN_same_version_stored_twice_WHEN_get_THEN_latest_returned() throws IOException {
+        ComponentRecipe first = withVersion("2.0.0");
+        ComponentRecipe updated = ComponentRecipe.builder()
+                .recipeFormatVersion(first.getRecipeFormatVersion())
+                .componentName(first.getComponentName())
+                .componentVersion(first.getComponentVersion())
+                .componentDescription("updated")
+                .build();
+
+        try (RecipeStore store = RecipeStore.open(directory)) {
+            store.put(first);
+            store.put(updated);
+
+            assertEquals(1, store.size());
+            assertEquals(updated, store.get(first.getComponentName(), first.getComponentVersion()).get());
+        }
+    }
+
+    private ComponentRecipe withVersion(String version) {
+        return ComponentRecipe.builder()
+                .recipeFormatVersion(recipe.getRecipeFormatVersion())
+                .componentName(recipe.getComponentName())
+                .componentVersion(new Semver(version))
+                .lifecycle(recipe.getLifecycle())
+                .build();
+    }
+}
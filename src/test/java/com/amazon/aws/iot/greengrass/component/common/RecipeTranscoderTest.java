@@ -0,0 +1,81 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeTranscoderTest extends BaseRecipeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "sample-recipe-with-all-fields.yaml",
+            "b1-recipe-with-all-fields.yaml",
+            "wrapper-component-recipe.yaml"
+    })
+    void GIVEN_yaml_recipe_WHEN_transcoded_to_json_THEN_binds_to_same_recipe(String fileName) throws IOException {
+        byte[] yaml = Files.readAllBytes(getResourcePath(fileName));
+        ComponentRecipe expected = DESERIALIZER_YAML.readValue(yaml, ComponentRecipe.class);
+
+        byte[] json = RecipeTranscoder.transcode(yaml, RecipeFormat.YAML, RecipeFormat.JSON);
+
+        assertEquals(expected, DESERIALIZER_JSON.readValue(json, ComponentRecipe.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SMILE", "CBOR"})
+    void GIVEN_json_recipe_WHEN_transcoded_to_binary_and_back_THEN_recipe_unchanged(String format)
+            throws IOException {
+        byte[] json = Files.readAllBytes(getResourcePath("sample-recipe-with-all-fields.json"));
+        RecipeFormat binary = RecipeFormat.valueOf(format);
+
+        byte[] encoded = RecipeTranscoder.transcode(json, RecipeFormat.JSON, binary);
+        ObjectMapper binaryMapper = new ObjectMapper(binary == RecipeFormat.SMILE ? new SmileFactory()
+                : new CBORFactory());
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        RecipeTranscoder.transcode(new ByteArrayInputStream(encoded), binary, decoded, RecipeFormat.JSON);
+
+        assertTrue(encoded.length < json.length);
+        assertEquals(DESERIALIZER_JSON.readTree(decoded.toByteArray()), binaryMapper.readTree(encoded));
+        assertEquals(DESERIALIZER_JSON.readValue(json, ComponentRecipe.class),
+                DESERIALIZER_JSON.readValue(decoded.toByteArray(), ComponentRecipe.class));
+    }
+
+    @Test
+    void GIVEN_recipe_with_mixed_case_keys_WHEN_transcoded_THEN_only_model_keys_normalized() throws IOException {
+        String yaml = "---\nrecipeformatversion: 2020-01-25\ncomponentNAME: A\nComponentVersion: 1.0.0\n"
+                + "componentDependencies:\n  b:\n    versionrequirement: '>=1.0.0'\n"
+                + "manifests:\n  - platform:\n      os: linux\n    lifecycle:\n      run: echo\n"
+                + "    artifacts:\n      - uri: s3://bucket/a.zip\n        unarchive: ZIP\n"
+                + "componentConfiguration:\n  defaultConfiguration:\n    someKey: 1\n";
+
+        JsonNode json = DESERIALIZER_JSON.readTree(RecipeTranscoder.transcode(yaml.getBytes(StandardCharsets.UTF_8),
+                RecipeFormat.YAML, RecipeFormat.JSON));
+
+        assertEquals("A", json.path("ComponentName").textValue());
+        assertEquals(">=1.0.0", json.at("/ComponentDependencies/b/VersionRequirement").textValue());
+        assertEquals("linux", json.at("/Manifests/0/Platform/os").textValue());
+        assertEquals("echo", json.at("/Manifests/0/Lifecycle/run").textValue());
+        assertEquals("s3://bucket/a.zip", json.at("/Manifests/0/Artifacts/0/Uri").textValue());
+        assertEquals(1, json.at("/ComponentConfiguration/DefaultConfiguration/someKey").intValue());
+        assertFalse(json.has("componentNAME"));
+    }
+}
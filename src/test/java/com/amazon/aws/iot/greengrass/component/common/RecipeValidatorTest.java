@@ -0,0 +1,173 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeValidatorTest extends BaseRecipeTest {
+
+    private static final String HEADER = "{\"RecipeFormatVersion\":\"2020-01-25\","
+            + "\"ComponentName\":\"com.example.Foo\",\"ComponentVersion\":\"1.0.0\",";
+
+    static JsonSchema schema;
+
+    @BeforeAll
+    static void loadSchema() throws IOException {
+        try (InputStream in = ComponentRecipe.class.getClassLoader()
+                .getResourceAsStream("recipe/recipe_schema.json")) {
+            schema = JsonSchemaFactory.builder(JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7))
+                    .objectMapper(DESERIALIZER_JSON).build().getSchema(in);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "b1-recipe-with-all-fields.yaml",
+            "sample-recipe-with-all-fields.yaml",
+            "sample-recipe-missing-permission-fields.yaml",
+            "wrapper-component-recipe.yaml",
+            "sample-recipe-fail-missing-uri.yaml",
+            "sample-recipe-fail-missing-versionRequirement.yaml",
+            "sample-recipe-with-illegal-component-name.yaml",
+            "sample-recipe-with-long-component-version.yaml",
+            "error-recipe-contains-null-element-in-artifacts.yaml",
+            "error-recipe-contains-null-element-in-manifests.yaml"
+    })
+    void GIVEN_yaml_recipe_WHEN_validate_THEN_agrees_with_schema(String fileName) throws IOException {
+        byte[] recipe = Files.readAllBytes(getResourcePath(fileName));
+
+        assertAgreesWithSchema(RecipeValidator.yaml().validate(recipe), DESERIALIZER_YAML.readTree(recipe),
+                DESERIALIZER_YAML);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "b2-recipe-with-all-fields.json",
+            "sample-recipe-with-all-fields.json",
+            "wrapper-component-recipe.json",
+            "error-recipe-contains-null-element-in-artifacts.json",
+            "error-recipe-contains-null-element-in-manifests.json"
+    })
+    void GIVEN_json_recipe_WHEN_validate_THEN_agrees_with_schema(String fileName) throws IOException {
+        byte[] recipe = Files.readAllBytes(getResourcePath(fileName));
+
+        assertAgreesWithSchema(RecipeValidator.json().validate(recipe), DESERIALIZER_JSON.readTree(recipe),
+                DESERIALIZER_JSON);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            HEADER + "\"Manifests\":[]}",
+            HEADER + "\"Manifests\":[],\"Unknown\":1}",
+            HEADER + "\"Manifests\":{}}",
+            "{\"RecipeFormatVersion\":\"2021-01-01\",\"ComponentName\":\"a\",\"ComponentVersion\":\"1.0.0\","
+                    + "\"Manifests\":[]}",
+            HEADER + "\"Manifests\":[],\"ComponentType\":\"aws.greengrass.other\"}",
+            HEADER + "\"Manifests\":[],\"ComponentSource\":\"arn:aws:lambda:us-east-1:1:function:f\"}",
+            HEADER + "\"Manifests\":[],\"ComponentSource\":\"arn:aws:s3:::bucket\"}",
+            HEADER + "\"Manifests\":[],\"ComponentConfiguration\":{\"DefaultConfiguration\":[1]}}",
+            HEADER + "\"Manifests\":[],\"ComponentConfiguration\":\"x\"}",
+            HEADER + "\"Manifests\":[],\"ComponentDependencies\":{\"a\":{\"VersionRequirement\":\"^1\"}}}",
+            HEADER + "\"Manifests\":[],\"ComponentDependencies\":{\"a\":{\"DependencyType\":\"SOFT\"}}}",
+            HEADER + "\"Manifests\":[],\"ComponentDependencies\":{\"a\":{\"VersionRequirement\":\"1\","
+                    + "\"DependencyType\":\"soft\"}}}",
+            HEADER + "\"Manifests\":[],\"ComponentDependencies\":{\"a b\":3}}",
+            HEADER + "\"Manifests\":[{\"Platform\":{\"os\":\"linux\",\"runtime\":1}}]}",
+            HEADER + "\"Manifests\":[{\"Selections\":[\"all\",\"a\"]}]}",
+            HEADER + "\"Manifests\":[{\"Selections\":[\"all\",1]}]}",
+            HEADER + "\"Manifests\":[{\"Artifacts\":[{\"Uri\":\"s3://a\",\"Unarchive\":\"TAR\"}]}]}",
+            HEADER + "\"Manifests\":[{\"Artifacts\":[{\"Uri\":\"s3://a\",\"Permission\":{\"Read\":\"ALL\","
+                    + "\"Execute\":\"SOME\"}}]}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":\"echo\",\"Setenv\":{\"A\":1,\"B\":true}}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"Script\":\"echo\",\"Timeout\":\"10\","
+                    + "\"RequiresPrivilege\":\"true\",\"Skipif\":\"onpath git\"}}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"Script\":\"echo\",\"Skipif\":\"git\"}}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"Script\":\"echo\",\"Timeout\":true}}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"Script\":\"echo\",\"Setenv\":{\"A\":[]}}}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":{\"Run\":1}}]}",
+            HEADER + "\"Manifests\":[{\"Lifecycle\":\"run\"}]}",
+            HEADER + "\"ComponentType\":\"aws.greengrass.generic\","
+                    + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"RequiresPrivilege\":true}}}]}",
+            HEADER + "\"ComponentType\":\"aws.greengrass.plugin\","
+                    + "\"Manifests\":[{\"Lifecycle\":{\"Run\":{\"RequiresPrivilege\":true}}}]}",
+            HEADER + "\"Manifests\":[],\"Lifecycle\":{\"Run\":{\"Script\":\"echo\"}}}",
+            HEADER + "\"Manifests\":[],\"Lifecycle\":{\"Run\":{\"RequiresPrivilege\":true}}}",
+            HEADER + "\"Manifests\":[],\"Lifecycle\":{\"linux\":{\"Run\":{\"Script\":\"echo\"}}}}",
+            HEADER + "\"Manifests\":[],\"Lifecycle\":{\"Run\":1,\"linux\":{\"Run\":1}}}",
+            "{\"ComponentName\":\"\",\"ComponentVersion\":1}",
+            "[]"
+    })
+    void GIVEN_recipe_variant_WHEN_validate_THEN_agrees_with_schema(String recipe) throws IOException {
+        assertAgreesWithSchema(RecipeValidator.json().validate(recipe.getBytes(StandardCharsets.UTF_8)),
+                DESERIALIZER_JSON.readTree(recipe), DESERIALIZER_JSON);
+    }
+
+    @Test
+    void GIVEN_invalid_recipe_WHEN_validate_THEN_all_violations_reported_with_paths() throws IOException {
+        String recipe = "{\"ComponentName\":\"bad name\",\"ComponentVersion\":\"1.0.0\",\"Manifests\":[null,"
+                + "{\"Artifacts\":[{\"Unarchive\":\"ZIP\"}],"
+                + "\"Lifecycle\":{\"Run\":{\"Script\":\"a\",\"Timeout\":1.5}}}]}";
+
+        List<RecipeViolation> violations = RecipeValidator.json().validate(recipe.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("/ComponentName", "/Manifests/0", "/Manifests/1/Artifacts/0",
+                "/Manifests/1/Lifecycle/Run/Timeout", ""), paths(violations));
+        assertEquals("Uri is missing", violations.get(2).getMessage());
+        assertEquals("RecipeFormatVersion is missing", violations.get(4).getMessage());
+    }
+
+    @Test
+    void GIVEN_version_out_of_builder_limits_WHEN_validate_THEN_violation() throws IOException {
+        assertEquals(Collections.singletonList("/ComponentVersion"), paths(RecipeValidator.json().validate(
+                (HEADER.replace("1.0.0", "1000000.0.0") + "\"Manifests\":[]}").getBytes(StandardCharsets.UTF_8))));
+        assertEquals(Collections.singletonList("/ComponentVersion"), paths(RecipeValidator.json().validate(
+                (HEADER.replace("1.0.0", "1.0") + "\"Manifests\":[]}").getBytes(StandardCharsets.UTF_8))));
+        assertTrue(RecipeValidator.json().validate((HEADER.replace("1.0.0", "1.0.0-alpha.1+build")
+                + "\"Manifests\":[]}").getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+
+    @Test
+    void GIVEN_stream_WHEN_validate_THEN_stream_left_open() throws IOException {
+        CloseTrackingInputStream in = new CloseTrackingInputStream(HEADER + "\"Manifests\":[]}");
+
+        assertTrue(RecipeValidator.json().validate(in).isEmpty());
+        assertFalse(in.closed);
+    }
+
+    private static void assertAgreesWithSchema(List<RecipeViolation> violations, JsonNode recipe,
+                                               ObjectMapper mapper) {
+        boolean schemaValid = schema.validate(RecipeSchemaTest.lowerJsonNodeKeys(recipe, mapper)).isEmpty();
+        assertEquals(schemaValid, violations.isEmpty(), violations.toString());
+    }
+
+    private static List<String> paths(List<RecipeViolation> violations) {
+        String[] paths = new String[violations.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = violations.get(i).getPath();
+        }
+        return Arrays.asList(paths);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.component.common;
+
+import com.vdurmont.semver4j.Requirement;
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionIndexTest {
+
+    private static final List<String> VERSIONS = Arrays.asList("0.0.3", "0.2.3", "0.2.9", "0.3.0", "1.0.0-alpha",
+            "1.0.0", "1.1.0", "1.2.3-beta.1", "1.2.3-beta.3", "1.2.3", "1.2.9", "1.3.0", "1.9.9-rc.1", "2.0.0",
+            "2.3.5", "3.0.0", "3.1.0-beta");
+
+    private static final List<String> REQUIREMENTS = Arrays.asList("^1.1", "^1.1.0", "^0.2.3", "^0.0.3", "~1.2.3",
+            "~1.2", "~1.2.3-beta.2", "1.x", "1.2.x", "*", "", "1.2.3", "=2.0.0", ">=1.0.0 <2.0.0", ">1.0.0",
+            "<=1.2.3", "1.2.3 - 2.3", "1 - 2", "1.0.0 || >=3.0.0",
+            "^0.2.3 || ^1.2.3-beta.2", "(>=1.0.0)");
+
+    @Test
+    void GIVEN_npm_requirements_WHEN_compiled_THEN_same_result_as_semver4j() {
+        for (String requirement : REQUIREMENTS) {
+            CompiledRequirement fromString = CompiledRequirement.compile(requirement);
+            CompiledRequirement fromRequirement = CompiledRequirement.compile(Requirement.buildNPM(requirement));
+            for (String version : VERSIONS) {
+                Semver semver = new Semver(version);
+                boolean expected = Requirement.buildNPM(requirement).isSatisfiedBy(semver);
+                assertEquals(expected, fromString.isSatisfiedBy(semver), requirement + " on " + version);
+                assertEquals(expected, fromRequirement.isSatisfiedBy(semver), requirement + " on " + version);
+            }
+        }
+    }
+
+    @Test
+    void GIVEN_index_WHEN_find_THEN_same_result_as_linear_scan() {
+        VersionIndex<Semver> index = VersionIndex.of(VERSIONS.stream().map(Semver::new).collect(Collectors.toList()));
+        for (String requirement : REQUIREMENTS) {
+            Requirement expected = Requirement.buildNPM(requirement);
+            List<Semver> satisfying = new ArrayList<>();
+            for (String version : VERSIONS) {
+                if (expected.isSatisfiedBy(new Semver(version))) {
+                    satisfying.add(new Semver(version));
+                }
+            }
+            CompiledRequirement compiled = CompiledRequirement.compile(requirement);
+            assertEquals(satisfying, index.findAll(compiled), requirement);
+            assertEquals(satisfying.isEmpty() ? Optional.empty() : Optional.of(satisfying.get(satisfying.size() - 1)),
+                    index.findHighest(compiled), requirement);
+        }
+    }
+
+    @Test
+    void GIVEN_prerelease_candidates_WHEN_find_highest_THEN_only_allowed_prereleases_returned() {
+        VersionIndex<Semver> index = VersionIndex.of(Arrays.asList(new Semver("1.2.3-beta.3"),
+                new Semver("1.2.4-beta.1"), new Semver("1.2.2")));
+
+        assertEquals(new Semver("1.2.3-beta.3"), index.findHighest(CompiledRequirement.compile("~1.2.3-beta.2")).get());
+        assertEquals(new Semver("1.2.2"), index.findHighest(CompiledRequirement.compile("~1.2.0")).get());
+        assertEquals(new Semver("1.2.4-beta.1"), index.findHighest(CompiledRequirement.compile(">=1.2.0")).get());
+    }
+
+    @Test
+    void GIVEN_several_requirements_WHEN_find_highest_THEN_all_applied() {
+        VersionIndex<Semver> index = VersionIndex.of(VERSIONS.stream().map(Semver::new).collect(Collectors.toList()));
+
+        assertEquals(Optional.of(new Semver("1.2.9")), index.findHighest(Arrays.asList(
+                CompiledRequirement.compile("^1.0.0"), CompiledRequirement.compile("~1.2"))));
+        assertFalse(index.findHighest(Arrays.asList(
+                CompiledRequirement.compile("^1.0.0"), CompiledRequirement.compile(">=2.0.0"))).isPresent());
+    }
+
+    @Test
+    void GIVEN_unsupported_syntax_WHEN_compile_THEN_evaluated_by_semver4j() {
+        assertTrue(CompiledRequirement.compile("^1.2 || 2.x").isCompiled());
+        assertFalse(CompiledRequirement.compile("(>=1.0.0)").isCompiled());
+        assertFalse(CompiledRequirement.compile(">=1.2").isCompiled());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationDiffTest extends BaseConfigurationTest {
+
+    @Test
+    void GIVEN_run_with_changed_WHEN_diff_THEN_only_that_component_changed() throws IOException {
+        Configuration base = DESERIALIZER_JSON.readValue(
+                getResourcePath("configuration-1-component-replace.json").toFile(), Configuration.class);
+        Configuration target = DESERIALIZER_JSON.readValue(
+                getResourcePath("configuration-2-component-replace.json").toFile(), Configuration.class);
+
+        ConfigurationDelta delta = ConfigurationDiff.diff(base, target);
+
+        assertFalse(delta.isEmpty());
+        assertTrue(delta.getAddedComponents().isEmpty());
+        assertTrue(delta.getRemovedComponents().isEmpty());
+        assertEquals(1, delta.getChangedComponents().size());
+        ConfigurationDelta.ComponentChange change = delta.getChangedComponents().values().iterator().next();
+        assertTrue(change.isRunWithChanged());
+        assertFalse(change.isVersionChanged());
+        assertFalse(change.isConfigurationUpdateChanged());
+        assertNull(delta.getComponentUpdatePolicy());
+        assertEquals(target, ConfigurationDiff.apply(base, delta));
+    }
+
+    @Test
+    void GIVEN_components_added_removed_and_changed_WHEN_diff_and_apply_THEN_target_reconstructed()
+            throws IOException {
+        Map<String, ComponentUpdate> before = new HashMap<>();
+        before.put("Kept", component("1.0.0", "{\"a\":1,\"b\":[1,2]}"));
+        before.put("Upgraded", component("1.0.0", null));
+        before.put("Reconfigured", component("2.0.0", "{\"a\":1}"));
+        before.put("Removed", component("1.0.0", null));
+        Map<String, ComponentUpdate> after = new HashMap<>();
+        after.put("Kept", component("1.0.0", "{\"b\":[1,2],\"a\":1}"));
+        after.put("Upgraded", component("1.1.0", null));
+        after.put("Reconfigured", component("2.0.0", "{\"a\":2}"));
+        after.put("Added", component("1.0.0", null));
+        Configuration base = Configuration.builder().deploymentId("1").components(before).build();
+        Configuration target = Configuration.builder().deploymentId("2").components(after)
+                .failureHandlingPolicy(FailureHandlingPolicy.DO_NOTHING).build();
+
+        ConfigurationDelta delta = ConfigurationDiff.diff(base, target);
+
+        assertEquals(Collections.singleton("Added"), delta.getAddedComponents().keySet());
+        assertEquals(Collections.singletonMap("Removed", new Semver("1.0.0")), delta.getRemovedComponents());
+        assertEquals(2, delta.getChangedComponents().size());
+        assertTrue(delta.getChangedComponents().get("Upgraded").isVersionChanged());
+        assertTrue(delta.getChangedComponents().get("Reconfigured").isConfigurationUpdateChanged());
+        assertEquals(FailureHandlingPolicy.DO_NOTHING, delta.getFailureHandlingPolicy());
+        assertEquals(target, ConfigurationDiff.apply(base, delta));
+
+        ConfigurationDelta read = DESERIALIZER_JSON.readValue(DESERIALIZER_JSON.writeValueAsBytes(delta),
+                ConfigurationDelta.class);
+        assertEquals(target, ConfigurationDiff.apply(base, read));
+    }
+
+    @Test
+    void GIVEN_same_components_WHEN_diff_THEN_empty() {
+        Map<String, ComponentUpdate> components = Collections.singletonMap("A", component("1.0.0", "{\"a\":1}"));
+        Configuration base = Configuration.builder().deploymentId("1").components(components).build();
+        Configuration target = Configuration.builder().deploymentId("2")
+                .components(Collections.singletonMap("A", component("1.0.0", "{\"a\":1}"))).build();
+
+        ConfigurationDelta delta = ConfigurationDiff.diff(base, target);
+
+        assertTrue(delta.isEmpty());
+        assertEquals("2", ConfigurationDiff.apply(base, delta).getDeploymentId());
+    }
+
+    @Test
+    void GIVEN_delta_for_other_base_WHEN_apply_THEN_throws() {
+        Configuration base = Configuration.builder()
+                .components(Collections.singletonMap("A", component("1.0.0", null))).build();
+        Configuration target = Configuration.builder()
+                .components(Collections.singletonMap("A", component("2.0.0", null))).build();
+        Configuration other = Configuration.builder()
+                .components(Collections.singletonMap("A", component("1.5.0", null))).build();
+
+        ConfigurationDelta delta = ConfigurationDiff.diff(base, target);
+
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationDiff.apply(other, delta));
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationDiff.apply(target, delta));
+    }
+
+    private static ComponentUpdate component(String version, String merge) {
+        ConfigurationUpdate configurationUpdate = null;
+        if (merge != null) {
+            try {
+                configurationUpdate = ConfigurationUpdate.builder()
+                        .merge(DESERIALIZER_JSON.readTree(merge))
+                        .reset(Collections.singletonList("/a"))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        return ComponentUpdate.builder().version(new Semver(version)).configurationUpdate(configurationUpdate).build();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationMergerTest extends BaseConfigurationTest {
+
+    private static final String CURRENT =
+            "{\"units\":\"F\",\"rooms\":{\"Kitchen\":{\"temperature\":70,\"lights\":[1,2]},\"Garage\":{\"open\":true}},"
+                    + "\"a/b\":{\"c~d\":1}}";
+    private static final String DEFAULTS = "{\"units\":\"C\",\"rooms\":{\"Garage\":{\"open\":false}}}";
+    private static final String MERGE =
+            "{\"rooms\":{\"Kitchen\":{\"temperature\":70,\"lights\":[3]},\"Attic\":{\"open\":false}},"
+                    + "\"a/b\":{\"c~d\":2}}";
+    private static final String EXPECTED =
+            "{\"rooms\":{\"Kitchen\":{\"temperature\":70,\"lights\":[3]},\"Garage\":{\"open\":false},"
+                    + "\"Attic\":{\"open\":false}},\"a/b\":{\"c~d\":2}}";
+
+    @Test
+    void GIVEN_streamed_merge_and_reset_WHEN_apply_to_tree_THEN_merged_and_changed_paths_reported()
+            throws IOException {
+        ObjectNode target = (ObjectNode) DESERIALIZER_JSON.readTree(CURRENT);
+        JsonNode defaults = DESERIALIZER_JSON.readTree(DEFAULTS);
+
+        Set<String> changed;
+        try (JsonParser parser = DESERIALIZER_JSON.getFactory().createParser(MERGE)) {
+            changed = ConfigurationMerger.apply(parser, Arrays.asList("/rooms/Garage/open", "/units", "/missing/x"),
+                    defaults, target);
+        }
+
+        // units is reset to its default, then the merge doesn't touch it
+        assertEquals("C", target.get("units").asText());
+        target.remove("units");
+        assertEquals(DESERIALIZER_JSON.readTree(EXPECTED), target);
+        assertEquals(new LinkedHashSet<>(Arrays.asList("/rooms/Garage/open", "/units", "/rooms/Kitchen/lights",
+                "/rooms/Attic", "/a~1b/c~0d")), changed);
+    }
+
+    @Test
+    void GIVEN_streamed_merge_and_reset_WHEN_apply_to_map_THEN_same_result_as_tree() throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> target = DESERIALIZER_JSON.readValue(CURRENT, Map.class);
+        JsonNode defaults = DESERIALIZER_JSON.readTree(DEFAULTS);
+
+        Set<String> changed;
+        try (JsonParser parser = DESERIALIZER_JSON.getFactory().createParser(MERGE)) {
+            changed = ConfigurationMerger.apply(parser, Arrays.asList("/rooms/Garage/open", "/units"), defaults,
+                    target);
+        }
+
+        assertEquals("C", target.remove("units"));
+        assertEquals(DESERIALIZER_JSON.readTree(EXPECTED), DESERIALIZER_JSON.valueToTree(target));
+        assertEquals(5, changed.size());
+    }
+
+    @Test
+    void GIVEN_configuration_update_with_root_reset_WHEN_apply_THEN_defaults_then_merge() throws IOException {
+        ObjectNode target = (ObjectNode) DESERIALIZER_JSON.readTree(CURRENT);
+        ConfigurationUpdate update = ConfigurationUpdate.builder()
+                .merge(DESERIALIZER_JSON.readTree("{\"units\":\"C\"}"))
+                .reset(Collections.singletonList(""))
+                .build();
+
+        Set<String> changed = ConfigurationMerger.apply(update, DESERIALIZER_JSON.readTree(DEFAULTS), target);
+
+        assertEquals(DESERIALIZER_JSON.readTree(DEFAULTS), target);
+        // merging the default value again is not a change
+        assertEquals(Collections.singleton(""), changed);
+    }
+
+    @Test
+    void GIVEN_merge_not_an_object_WHEN_apply_THEN_throws() throws IOException {
+        try (JsonParser parser = DESERIALIZER_JSON.getFactory().createParser("[1]")) {
+            assertThrows(JsonMappingException.class, () -> ConfigurationMerger.apply(parser, null, null,
+                    DESERIALIZER_JSON.createObjectNode()));
+        }
+        try (JsonParser parser = DESERIALIZER_JSON.getFactory().createParser("null")) {
+            assertTrue(ConfigurationMerger.apply(parser, null, null, DESERIALIZER_JSON.createObjectNode()).isEmpty());
+        }
+    }
+
+    @Test
+    void GIVEN_reset_pointer_into_array_WHEN_apply_THEN_array_left_alone() throws IOException {
+        String current = "{\"list\":[1,2],\"nested\":{\"x\":1}}";
+        JsonNode defaults = DESERIALIZER_JSON.readTree("{\"list\":[5,6],\"nested\":[{\"x\":7}],\"extra\":[8]}");
+        ObjectNode tree = (ObjectNode) DESERIALIZER_JSON.readTree(current);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = DESERIALIZER_JSON.readValue(current, Map.class);
+
+        Set<String> treeChanged = ConfigurationMerger.apply(null, Arrays.asList("/list/0", "/nested/0/x", "/extra/0"),
+                defaults, tree);
+        Set<String> mapChanged = ConfigurationMerger.apply(null, Arrays.asList("/list/0", "/nested/0/x", "/extra/0"),
+                defaults, map);
+
+        assertEquals(DESERIALIZER_JSON.readTree(current), tree);
+        assertEquals(DESERIALIZER_JSON.readTree(current), DESERIALIZER_JSON.valueToTree(map));
+        assertTrue(treeChanged.isEmpty());
+        assertTrue(mapChanged.isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationUpdateTest extends BaseConfigurationTest {
+
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    @Test
+    void GIVEN_same_merge_from_json_and_yaml_WHEN_compared_THEN_equal_with_same_hash() throws IOException {
+        ConfigurationUpdate json = update(DESERIALIZER_JSON.readTree(
+                "{\"units\":\"C\",\"rooms\":{\"Kitchen\":{\"temperature\":25,\"ratio\":0.5}},\"big\":12345678901}"));
+        ConfigurationUpdate yaml = update(YAML.readTree(
+                "big: 12345678901\nrooms:\n  Kitchen:\n    ratio: 0.5\n    temperature: 25\nunits: C\n"));
+
+        assertEquals(json, yaml);
+        assertEquals(json.hashCode(), yaml.hashCode());
+    }
+
+    @Test
+    void GIVEN_numbers_of_different_types_WHEN_hashed_THEN_hashed_by_value() {
+        ObjectNode asInt = JsonNodeFactory.instance.objectNode().put("a", 1).put("b", 1.5);
+        ObjectNode asLong = JsonNodeFactory.instance.objectNode().put("a", 1L).put("b", 1.5f);
+
+        assertEquals(update(asInt).hashCode(), update(asLong).hashCode());
+    }
+
+    @Test
+    void GIVEN_merge_replaced_WHEN_compared_THEN_hash_recomputed() throws IOException {
+        ConfigurationUpdate first = update(DESERIALIZER_JSON.readTree("{\"a\":1}"));
+        ConfigurationUpdate second = update(DESERIALIZER_JSON.readTree("{\"a\":1}"));
+        assertEquals(first, second);
+
+        second.setMerge(DESERIALIZER_JSON.readTree("{\"a\":2}"));
+
+        assertNotEquals(first, second);
+        assertNotEquals(first.hashCode(), second.hashCode());
+        second.setReset(null);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void GIVEN_merge_changed_in_place_WHEN_compared_THEN_equality_and_hash_follow() throws IOException {
+        ConfigurationUpdate changed = update(DESERIALIZER_JSON.readTree("{\"a\":1}"));
+        ConfigurationUpdate original = update(DESERIALIZER_JSON.readTree("{\"a\":1}"));
+        int hash = changed.hashCode();
+        assertEquals(original, changed);
+
+        ((ObjectNode) changed.getMerge()).put("a", 2);
+        ConfigurationUpdate expected = update(DESERIALIZER_JSON.readTree("{\"a\":2}"));
+
+        assertNotEquals(original, changed);
+        assertNotEquals(hash, changed.hashCode());
+        assertEquals(expected, changed);
+        assertEquals(expected.hashCode(), changed.hashCode());
+        assertTrue(new HashSet<>(Collections.singleton(expected)).contains(changed));
+    }
+
+    private static ConfigurationUpdate update(JsonNode merge) {
+        return ConfigurationUpdate.builder().merge(merge).reset(Collections.singletonList("/rooms")).build();
+    }
+}
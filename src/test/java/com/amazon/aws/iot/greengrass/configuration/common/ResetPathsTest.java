@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.aws.iot.greengrass.configuration.common;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResetPathsTest extends BaseConfigurationTest {
+
+    private static final ResetPaths RESET =
+            ResetPaths.compile(Arrays.asList("/a/b", "/a/b/c", "/x", "/a/b", "/a~1b/c~0d", "/q/r"));
+
+    @Test
+    void GIVEN_overlapping_pointers_WHEN_compile_THEN_covered_pointers_dropped() {
+        assertEquals(Arrays.asList(JsonPointer.compile("/a/b"), JsonPointer.compile("/x"),
+                JsonPointer.compile("/a~1b/c~0d"), JsonPointer.compile("/q/r")), RESET.getPointers());
+        assertEquals(Collections.singletonList(JsonPointer.compile("")),
+                ResetPaths.compile(Arrays.asList("/a", "", "/b")).getPointers());
+        assertSame(ResetPaths.NONE, ResetPaths.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> ResetPaths.compile(Collections.singletonList("a")));
+    }
+
+    @Test
+    void GIVEN_compiled_reset_WHEN_is_reset_THEN_true_for_reset_paths_and_below() {
+        assertTrue(RESET.isReset("/a/b"));
+        assertTrue(RESET.isReset("/a/b/z"));
+        assertTrue(RESET.isReset("/a~1b/c~0d"));
+        assertFalse(RESET.isReset("/a"));
+        assertFalse(RESET.isReset("/a/c"));
+        assertFalse(RESET.isReset("/q"));
+        assertFalse(RESET.isReset(""));
+        assertTrue(ResetPaths.compile(Collections.singletonList("")).isReset("/anything"));
+        assertFalse(ResetPaths.NONE.isReset("/a"));
+    }
+
+    @Test
+    void GIVEN_configuration_WHEN_remove_from_THEN_reset_values_removed() throws IOException {
+        ObjectNode tree = (ObjectNode) DESERIALIZER_JSON.readTree(
+                "{\"a\":{\"b\":1,\"c\":2},\"x\":[1],\"a/b\":{\"c~d\":1},\"q\":5}");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = DESERIALIZER_JSON.treeToValue(tree, Map.class);
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("/a/b", "/x", "/a~1b/c~0d")), RESET.removeFrom(tree));
+        assertEquals(DESERIALIZER_JSON.readTree("{\"a\":{\"c\":2},\"a/b\":{},\"q\":5}"), tree);
+        assertEquals(new LinkedHashSet<>(Arrays.asList("/a/b", "/x", "/a~1b/c~0d")), RESET.removeFrom(map));
+        assertEquals(tree, DESERIALIZER_JSON.valueToTree(map));
+    }
+
+    @Test
+    void GIVEN_configuration_update_WHEN_reset_replaced_THEN_recompiled() {
+        ConfigurationUpdate update =
+                ConfigurationUpdate.builder().reset(Collections.singletonList("/a")).build();
+        ResetPaths compiled = update.getCompiledReset();
+        assertSame(compiled, update.getCompiledReset());
+        assertTrue(compiled.isReset("/a/b"));
+
+        update.setReset(Collections.singletonList("/b"));
+
+        assertFalse(update.getCompiledReset().isReset("/a/b"));
+        assertTrue(update.getCompiledReset().isReset("/b"));
+    }
+}